@@ -1,5 +1,6 @@
 package rs.master.o2c.auth.bff;
 
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
@@ -9,8 +10,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.reactive.function.BodyInserters;
-import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
@@ -39,7 +40,7 @@ public class BffProxyController {
     }
 
     @RequestMapping("/api/{service}/**")
-    public Mono<ResponseEntity<byte[]>> proxy(
+    public Mono<ResponseEntity<Flux<DataBuffer>>> proxy(
             @PathVariable String service,
             org.springframework.http.server.reactive.ServerHttpRequest request,
             Authentication authentication
@@ -84,7 +85,13 @@ public class BffProxyController {
                 ? spec.body(BodyInserters.fromDataBuffers(request.getBody()))
                 : spec;
 
-        return headersSpec.exchangeToMono(BffProxyController::toResponseEntity);
+        // Upstream bodies are relayed chunk by chunk, so streamed responses (SSE, NDJSON) stay streamed;
+        // error statuses are passed through to the caller as they are.
+        return headersSpec
+                .retrieve()
+                .onStatus(status -> true, resp -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(BffProxyController::toResponseEntity);
     }
 
     private String resolveUpstream(String service) {
@@ -92,6 +99,7 @@ public class BffProxyController {
             case "order" -> upstreams.order();
             case "checkout" -> upstreams.checkout();
             case "payment" -> upstreams.payment();
+            case "timeline" -> upstreams.timeline();
             default -> null;
         };
     }
@@ -106,18 +114,15 @@ public class BffProxyController {
         });
     }
 
-    private static Mono<ResponseEntity<byte[]>> toResponseEntity(ClientResponse resp) {
+    private static ResponseEntity<Flux<DataBuffer>> toResponseEntity(ResponseEntity<Flux<DataBuffer>> upstream) {
         HttpHeaders outHeaders = new HttpHeaders();
-        resp.headers().asHttpHeaders().forEach((name, values) -> {
+        upstream.getHeaders().forEach((name, values) -> {
             String lower = name.toLowerCase();
             if (HOP_BY_HOP_HEADERS.contains(lower)) return;
             if (HttpHeaders.SET_COOKIE.equalsIgnoreCase(name)) return;
             outHeaders.put(name, values);
         });
 
-        return resp
-                .bodyToMono(byte[].class)
-                .defaultIfEmpty(new byte[0])
-                .map(body -> ResponseEntity.status(resp.statusCode()).headers(outHeaders).body(body));
+        return ResponseEntity.status(upstream.getStatusCode()).headers(outHeaders).body(upstream.getBody());
     }
 }
@@ -6,6 +6,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 public record BffUpstreamProperties(
         String order,
         String checkout,
-        String payment
+        String payment,
+        String timeline
 ) {
 }
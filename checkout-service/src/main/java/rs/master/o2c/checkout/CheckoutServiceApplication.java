@@ -2,8 +2,10 @@ package rs.master.o2c.checkout;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class CheckoutServiceApplication {
 
     public static void main(String[] args) {
@@ -4,9 +4,15 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
 
 import reactor.kafka.receiver.ReceiverOptions;
 import reactor.kafka.sender.SenderOptions;
@@ -14,27 +20,63 @@ import reactor.kafka.sender.SenderOptions;
 import org.springframework.kafka.core.reactive.ReactiveKafkaConsumerTemplate;
 import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
 import rs.master.o2c.events.TopicNames;
+import rs.master.o2c.events.codec.EventCodecConfiguration;
+import rs.master.o2c.infra.kafka.ConsumerEngineOptions;
 
 @Configuration
+@Import(EventCodecConfiguration.class)
 public class KafkaReactiveConfig {
 
     @Bean
-    public ReactiveKafkaProducerTemplate<String, String> reactiveKafkaProducerTemplate(KafkaProperties properties) {
+    @Primary
+    public ReactiveKafkaProducerTemplate<String, byte[]> reactiveKafkaProducerTemplate(KafkaProperties properties) {
         Map<String, Object> producerProps = properties.buildProducerProperties();
-        SenderOptions<String, String> senderOptions = SenderOptions.create(producerProps);
+        producerProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        SenderOptions<String, byte[]> senderOptions = SenderOptions.create(producerProps);
         return new ReactiveKafkaProducerTemplate<>(senderOptions);
     }
 
     @Bean
-    public ReactiveKafkaConsumerTemplate<String, String> reactiveKafkaConsumerTemplate(KafkaProperties properties) {
+    public ReactiveKafkaConsumerTemplate<String, byte[]> reactiveKafkaConsumerTemplate(
+            KafkaProperties properties,
+            OrderEventsConsumerProperties consumerProperties
+    ) {
         Map<String, Object> consumerProps = properties.buildConsumerProperties();
+        consumerProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
 
         consumerProps.putIfAbsent(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        // order.events.v1 may be written by a transactional outbox relay; skip aborted batches.
+        consumerProps.putIfAbsent(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
 
-        ReceiverOptions<String, String> receiverOptions =
-                ReceiverOptions.<String, String>create(consumerProps)
+        ReceiverOptions<String, byte[]> receiverOptions =
+                ReceiverOptions.<String, byte[]>create(consumerProps)
                         .subscription(List.of(TopicNames.ORDER_EVENTS_V1));
 
+        receiverOptions = consumerProperties.toEngineOptions().applyTo(receiverOptions);
+
         return new ReactiveKafkaConsumerTemplate<>(receiverOptions);
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads the retry tiers of {@link TopicNames#ORDER_EVENTS_V1}; records there are handled once their delay has passed.
+     * Lazy: the consumer runner only asks for it when retry tiers are configured.
+     */
+    @Bean
+    @Lazy
+    public ReactiveKafkaConsumerTemplate<String, byte[]> orderEventsRetryConsumerTemplate(
+            KafkaProperties properties,
+            OrderEventsConsumerProperties consumerProperties
+    ) {
+        Map<String, Object> consumerProps = properties.buildConsumerProperties();
+        consumerProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        consumerProps.putIfAbsent(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        ConsumerEngineOptions options = consumerProperties.toEngineOptions();
+
+        ReceiverOptions<String, byte[]> receiverOptions =
+                ReceiverOptions.<String, byte[]>create(consumerProps)
+                        .subscription(options.retryTopics(TopicNames.ORDER_EVENTS_V1, properties.getConsumer().getGroupId()));
+
+        return new ReactiveKafkaConsumerTemplate<>(options.applyTo(receiverOptions));
+    }
+}
@@ -0,0 +1,27 @@
+package rs.master.o2c.checkout.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaAdmin;
+import rs.master.o2c.events.TopicNames;
+
+@Configuration
+public class KafkaTopicConfig {
+
+    @Bean
+    public KafkaAdmin.NewTopics orderEventsRetryTopics(
+            OrderEventsConsumerProperties consumerProperties,
+            KafkaProperties kafkaProperties
+    ) {
+        return new KafkaAdmin.NewTopics(
+                consumerProperties.toEngineOptions()
+                        .retryTopics(TopicNames.ORDER_EVENTS_V1, kafkaProperties.getConsumer().getGroupId())
+                        .stream()
+                        .map(name -> TopicBuilder.name(name).partitions(1).replicas(1).build())
+                        .toArray(NewTopic[]::new)
+        );
+    }
+}
@@ -0,0 +1,22 @@
+package rs.master.o2c.checkout.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import rs.master.o2c.infra.kafka.ConcurrencyMode;
+import rs.master.o2c.infra.kafka.ConsumerEngineOptions;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "order-events.consumer")
+public record OrderEventsConsumerProperties(
+        ConcurrencyMode mode,
+        int concurrency,
+        int maxInFlight,
+        Duration commitInterval,
+        int commitBatchSize,
+        List<Duration> retryTiers
+) {
+    public ConsumerEngineOptions toEngineOptions() {
+        return new ConsumerEngineOptions(mode, concurrency, maxInFlight, commitInterval, commitBatchSize, retryTiers, 0, null);
+    }
+}
@@ -0,0 +1,14 @@
+package rs.master.o2c.checkout.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import rs.master.o2c.infra.outbox.OutboxConfiguration;
+
+/**
+ * CheckoutCompleted and PaymentRequested are staged in outbox_event by OrderEventsHandler and relayed
+ * by the shared outbox relay (outbox.relay.*, outbox.retention.*).
+ */
+@Configuration
+@Import(OutboxConfiguration.class)
+public class OutboxConfig {
+}
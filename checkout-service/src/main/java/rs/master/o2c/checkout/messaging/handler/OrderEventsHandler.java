@@ -1,51 +1,50 @@
 package rs.master.o2c.checkout.messaging.handler;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
-import rs.master.o2c.checkout.kafka.CheckoutEventPublisher;
-import rs.master.o2c.checkout.kafka.PaymentRequestPublisher;
 import rs.master.o2c.checkout.persistence.entity.CheckoutEntity;
-import rs.master.o2c.checkout.persistence.entity.InboxProcessedEntity;
 import rs.master.o2c.checkout.persistence.repository.CheckoutRepository;
-import rs.master.o2c.checkout.persistence.repository.InboxProcessedRepository;
 import rs.master.o2c.events.*;
 import rs.master.o2c.events.checkout.CheckoutCompleted;
-import rs.master.o2c.events.checkout.CheckoutFailed;
 import rs.master.o2c.events.checkout.CheckoutStatus;
 import rs.master.o2c.events.order.OrderCreated;
 import rs.master.o2c.events.payment.PaymentRequested;
-
+import rs.master.o2c.events.codec.EventEnvelopeCodec;
+import rs.master.o2c.infra.inbox.InboxDeduplicator;
+import rs.master.o2c.infra.outbox.OutboxRecord;
+import rs.master.o2c.infra.outbox.OutboxStore;
+
+/**
+ * Turns OrderCreated into a checkout. The checkout row and the resulting CheckoutCompleted
+ * and PaymentRequested events are written to outbox_event in the inbox transaction; OutboxRelay relays them,
+ * so the consumer never waits on a broker ack and the DB and Kafka cannot diverge.
+ */
 @Component
 @RequiredArgsConstructor
 public class OrderEventsHandler {
 
-    private final ObjectMapper objectMapper;
+    private final EventEnvelopeCodec codec;
     private final CheckoutRepository checkoutRepository;
-    private final InboxProcessedRepository inboxProcessedRepository;
-    private final CheckoutEventPublisher checkoutEventPublisher;
-        private final PaymentRequestPublisher paymentRequestPublisher;
+    private final InboxDeduplicator inboxDeduplicator;
+    private final OutboxStore outboxStore;
 
-    public Mono<Void> handle(String payload) {
+    public Mono<Void> handle(byte[] payload) {
         return Mono.fromCallable(() ->
-                        objectMapper.readValue(payload, new TypeReference<EventEnvelope<OrderCreated>>() {})
+                        codec.read(payload, OrderCreated.class)
                 )
                 .subscribeOn(Schedulers.boundedElastic())
                 .flatMap(envelope -> {
                     String messageId = envelope.messageId().toString();
 
-                    return inboxProcessedRepository
-                            .save(new InboxProcessedEntity(messageId, Instant.now()))
-                            .then(process(envelope))
-                            .onErrorResume(DuplicateKeyException.class, e -> Mono.empty());
+                    return inboxDeduplicator.once(messageId, () -> process(envelope));
                 });
     }
 
@@ -57,11 +56,12 @@ public class OrderEventsHandler {
         OrderCreated ev = envelope.payload();
         String checkoutId = UUID.randomUUID().toString();
 
-        CheckoutEntity checkout = new CheckoutEntity(
+        // The outcome is decided locally, so the row goes in once, already COMPLETED, together with its events.
+        CheckoutEntity checkout = CheckoutEntity.decided(
                 checkoutId,
                 ev.orderId(),
                 ev.customerId(),
-                CheckoutStatus.PENDING,
+                CheckoutStatus.COMPLETED,
                 ev.total().amount(),
                 ev.total().currency(),
                 Instant.now()
@@ -69,112 +69,83 @@ public class OrderEventsHandler {
 
         return checkoutRepository
                 .save(checkout)
-                .flatMap(saved ->
-                        attemptCheckout(saved, envelope, ev)
-                                .onErrorResume(ex ->
-                                        markFailed(saved, envelope, ev, ex.getMessage())
-                                )
-                )
+                // uk_checkout_order: this order already has a checkout, so there is nothing to stage.
+                // Only the checkout insert is guarded; an outbox failure rolls back the inbox transaction.
                 .onErrorResume(DataIntegrityViolationException.class, e -> Mono.empty())
-                .then();
+                .flatMap(saved -> enqueue(List.of(
+                        new Outgoing(TopicNames.CHECKOUT_EVENTS_V1, completed(envelope, ev, checkoutId)),
+                        new Outgoing(TopicNames.PAYMENT_REQUESTS_V1, paymentRequested(envelope, ev, checkoutId))
+                )));
     }
 
-    private Mono<Void> attemptCheckout(CheckoutEntity saved, EventEnvelope<OrderCreated> envelope, OrderCreated ev) {
-                saved.markCompleted();
-                saved.markNotNew();
-
-                return checkoutRepository
-                                .save(saved)
-                                .then(publishCompleted(envelope, ev, saved.id()))
-                                .then(publishPaymentRequested(envelope, ev, saved.id()));
-    }
-
-    private Mono<Void> markFailed(CheckoutEntity saved, EventEnvelope<OrderCreated> envelope, OrderCreated ev, String reason) {
-        saved.markFailed();
-        saved.markNotNew();
-
-        return checkoutRepository
-                .save(saved)
-                .then(publishFailed(envelope, ev, saved.id(), reason));
-    }
-
-    private Mono<Void> publishCompleted(EventEnvelope<OrderCreated> envelope, OrderCreated ev, String checkoutId) {
-        return Mono.fromCallable(() ->
-                        objectMapper.writeValueAsString(
-                                new EventEnvelope<>(
-                                        UUID.randomUUID(),
-                                        envelope.correlationId(),
-                                        envelope.messageId(),
-                                        EventTypes.CHECKOUT_COMPLETED,
-                                        1,
-                                        Instant.now(),
-                                        ProducerNames.CHECKOUT_SERVICE,
-                                        ev.orderId(),
-                                        new CheckoutCompleted(
-                                                checkoutId,
-                                                ev.orderId(),
-                                                ev.customerId()
-                                        )
-                                )
-                        )
+    private EventEnvelope<CheckoutCompleted> completed(EventEnvelope<OrderCreated> envelope, OrderCreated ev, String checkoutId) {
+        return new EventEnvelope<>(
+                UUID.randomUUID(),
+                envelope.correlationId(),
+                envelope.messageId(),
+                EventTypes.CHECKOUT_COMPLETED,
+                1,
+                Instant.now(),
+                ProducerNames.CHECKOUT_SERVICE,
+                ev.orderId(),
+                new CheckoutCompleted(
+                        checkoutId,
+                        ev.orderId(),
+                        ev.customerId()
                 )
-                .subscribeOn(Schedulers.boundedElastic())
-                .flatMap(json -> checkoutEventPublisher.publishCheckoutEvent(ev.orderId(), json));
+        );
     }
 
-    private Mono<Void> publishFailed(EventEnvelope<OrderCreated> envelope, OrderCreated ev, String checkoutId, String reason) {
-        String safeReason = (reason == null || reason.isBlank()) ? "UNKNOWN" : reason;
-
-        return Mono.fromCallable(() ->
-                        objectMapper.writeValueAsString(
-                                new EventEnvelope<>(
-                                        UUID.randomUUID(),
-                                        envelope.correlationId(),
-                                        envelope.messageId(),
-                                        EventTypes.CHECKOUT_FAILED,
-                                        1,
-                                        Instant.now(),
-                                        ProducerNames.CHECKOUT_SERVICE,
-                                        ev.orderId(),
-                                        new CheckoutFailed(
-                                                checkoutId,
-                                                ev.orderId(),
-                                                safeReason
-                                        )
-                                )
-                        )
+    private EventEnvelope<PaymentRequested> paymentRequested(EventEnvelope<OrderCreated> envelope, OrderCreated ev, String checkoutId) {
+        return new EventEnvelope<>(
+                UUID.randomUUID(),
+                envelope.correlationId(),
+                envelope.messageId(),
+                EventTypes.PAYMENT_REQUESTED,
+                1,
+                Instant.now(),
+                ProducerNames.CHECKOUT_SERVICE,
+                ev.orderId(),
+                new PaymentRequested(
+                        checkoutId,
+                        ev.orderId(),
+                        ev.customerId(),
+                        ev.total().amount(),
+                        ev.total().currency()
                 )
-                .subscribeOn(Schedulers.boundedElastic())
-                .flatMap(json -> checkoutEventPublisher.publishCheckoutEvent(ev.orderId(), json));
+        );
     }
 
-    private Mono<Void> publishPaymentRequested(EventEnvelope<OrderCreated> envelope, OrderCreated ev, String checkoutId) {
-        return Mono.fromCallable(() ->
-                        objectMapper.writeValueAsString(
-                                new EventEnvelope<>(
-                                        UUID.randomUUID(),
-                                        envelope.correlationId(),
-                                        envelope.messageId(),
-                                        EventTypes.PAYMENT_REQUESTED,
-                                        1,
-                                        Instant.now(),
-                                        ProducerNames.CHECKOUT_SERVICE,
-                                        ev.orderId(),
-                                        new PaymentRequested(
-                                                checkoutId,
-                                                ev.orderId(),
-                                                ev.customerId(),
-                                                ev.total().amount(),
-                                                ev.total().currency()
-                                        )
-                                )
-                        )
-                )
+    /**
+     * Stages every event of one checkout decision in outbox_event: all envelopes are encoded in a single
+     * hop and written with one multi-row insert, and the relay later sends them in the same pipelined batch.
+     * Row ids are the envelopes' messageIds and the record key is the order id, so every event of one order
+     * keeps landing on the same partition.
+     */
+    private Mono<Void> enqueue(List<Outgoing> outgoing) {
+        return Mono.fromCallable(() -> {
+                    Instant now = Instant.now();
+                    List<OutboxRecord> rows = new ArrayList<>(outgoing.size());
+
+                    for (Outgoing o : outgoing) {
+                        EventEnvelope<?> out = o.envelope();
+                        rows.add(new OutboxRecord(
+                                out.messageId().toString(),
+                                AggregateTypes.CHECKOUT,
+                                out.key(),
+                                out.eventType(),
+                                o.topic(),
+                                out.correlationId() == null ? null : out.correlationId().toString(),
+                                codec.write(out),
+                                now
+                        ));
+                    }
+                    return rows;
+                })
                 .subscribeOn(Schedulers.boundedElastic())
-                .flatMap(json -> paymentRequestPublisher.publishPaymentRequested(
-                        ev.orderId(),
-                        json,
-                        envelope.correlationId() == null ? null : envelope.correlationId().toString()
-                ));
+                .flatMap(outboxStore::insertAll)
+                .then();
     }
-}
\ No newline at end of file
+
+    private record Outgoing(String topic, EventEnvelope<?> envelope) {}
+}
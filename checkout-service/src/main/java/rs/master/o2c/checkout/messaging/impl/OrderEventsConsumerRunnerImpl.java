@@ -1,51 +1,56 @@
 package rs.master.o2c.checkout.messaging.impl;
 
-import lombok.RequiredArgsConstructor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.kafka.core.reactive.ReactiveKafkaConsumerTemplate;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
 import org.springframework.stereotype.Service;
-import reactor.core.publisher.Mono;
+import rs.master.o2c.infra.kafka.ReactiveConsumerEngine;
+import rs.master.o2c.infra.kafka.RetryTopicPublisher;
+import rs.master.o2c.checkout.config.OrderEventsConsumerProperties;
 import rs.master.o2c.checkout.messaging.handler.OrderEventsHandler;
 import rs.master.o2c.checkout.messaging.service.OrderEventsConsumerRunner;
 import rs.master.o2c.checkout.messaging.service.OrderEventsDlqPublisher;
-import rs.master.o2c.events.CorrelationHeaders;
-import rs.master.o2c.infra.correlation.CorrelationIdSupport;
-import rs.master.o2c.infra.kafka.KafkaRetryPolicies;
 
 @Service
-@RequiredArgsConstructor
 public class OrderEventsConsumerRunnerImpl implements OrderEventsConsumerRunner {
 
-    private static final Logger log = LoggerFactory.getLogger(OrderEventsConsumerRunnerImpl.class);
+    private final ReactiveKafkaConsumerTemplate<String, byte[]> consumer;
+    private final ObjectProvider<ReactiveKafkaConsumerTemplate<String, byte[]>> retryConsumer;
+    private final boolean retryTopics;
+    private final ReactiveConsumerEngine<String, byte[]> engine;
 
-    private final ReactiveKafkaConsumerTemplate<String, String> consumer;
-    private final OrderEventsHandler handler;
-    private final OrderEventsDlqPublisher dlqPublisher;
+    public OrderEventsConsumerRunnerImpl(
+            @Qualifier("reactiveKafkaConsumerTemplate") ReactiveKafkaConsumerTemplate<String, byte[]> consumer,
+            @Qualifier("orderEventsRetryConsumerTemplate") ObjectProvider<ReactiveKafkaConsumerTemplate<String, byte[]>> retryConsumer,
+            ReactiveKafkaProducerTemplate<String, byte[]> producer,
+            KafkaProperties kafkaProperties,
+            OrderEventsHandler handler,
+            OrderEventsDlqPublisher dlqPublisher,
+            OrderEventsConsumerProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.consumer = consumer;
+        this.retryConsumer = retryConsumer;
+        this.retryTopics = properties.toEngineOptions().hasRetryTopics();
+        this.engine = new ReactiveConsumerEngine<>(
+                "order-events",
+                record -> handler.handle(record.value()),
+                new RetryTopicPublisher<>(producer, kafkaProperties.getConsumer().getGroupId()),
+                dlqPublisher::publish,
+                properties.toEngineOptions(),
+                meterRegistry
+        );
+    }
 
     @Override
     public void start() {
-        consumer.receive()
-                .concatMap(record ->
-                        handler.handle(record.value())
-                                .retryWhen(KafkaRetryPolicies.processingRetry())
-                                .then(Mono.fromRunnable(record.receiverOffset()::acknowledge))
-                                .onErrorResume(e -> {
-                                    log.error(
-                                            "order-events handler failed after retries correlationId={} partition={} offset={}",
-                                            CorrelationIdSupport.headerValueOrNA(record.headers().lastHeader(CorrelationHeaders.X_CORRELATION_ID)),
-                                            record.partition(),
-                                            record.offset(),
-                                            e
-                                    );
-
-                                    return dlqPublisher.publish(record, e)
-                                            .retryWhen(KafkaRetryPolicies.dlqRetry())
-                                            .then(Mono.fromRunnable(record.receiverOffset()::acknowledge));
-                                })
-                )
-                .doOnError(ex -> log.error("order-events consumer stream error correlationId=n/a", ex))
-                .retryWhen(KafkaRetryPolicies.streamRetry())
-                .subscribe();
+        engine.start(consumer.receive());
+        // Without retry tiers there is no retry topic to subscribe to; failing records are retried in place
+        if (retryTopics) {
+            engine.startRetries(retryConsumer.getObject().receive());
+        }
     }
 }
@@ -56,6 +56,25 @@ public class CheckoutEntity implements Persistable<String> {
                 this.createdAt = createdAt;
         }
 
+        /**
+         * A checkout whose outcome was decided synchronously: inserted once, already in its terminal status.
+         * created_at and updated_at are both the decision time, so the timeline still reports CHECKOUT_CREATED
+         * followed by the terminal event. Asynchronous steps insert PENDING and transition later instead.
+         */
+        public static CheckoutEntity decided(
+                String id,
+                String orderId,
+                String customerId,
+                String status,
+                BigDecimal totalAmount,
+                String currency,
+                Instant decidedAt
+        ) {
+                CheckoutEntity checkout = new CheckoutEntity(id, orderId, customerId, status, totalAmount, currency, decidedAt);
+                checkout.updatedAt = decidedAt;
+                return checkout;
+        }
+
         @Override
         public String getId() {
                 return id;
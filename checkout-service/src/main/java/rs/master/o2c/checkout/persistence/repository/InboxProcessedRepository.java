@@ -1,7 +0,0 @@
-package rs.master.o2c.checkout.persistence.repository;
-
-import org.springframework.data.repository.reactive.ReactiveCrudRepository;
-import rs.master.o2c.checkout.persistence.entity.InboxProcessedEntity;
-
-public interface InboxProcessedRepository extends ReactiveCrudRepository<InboxProcessedEntity, String> {
-}
\ No newline at end of file
@@ -0,0 +1,4 @@
+-- V4's header still names the removed OutboxPublisher; V4 is left untouched so its checksum stays valid.
+-- Rows are relayed to Kafka by the shared common-infra OutboxRelay (rs.master.o2c.infra.outbox).
+alter table outbox_event
+    comment = 'Transactional outbox; relayed to Kafka by the common-infra OutboxRelay';
@@ -0,0 +1,105 @@
+package rs.master.o2c.checkout.messaging.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import rs.master.o2c.checkout.persistence.entity.CheckoutEntity;
+import rs.master.o2c.checkout.persistence.repository.CheckoutRepository;
+import rs.master.o2c.events.EventEnvelope;
+import rs.master.o2c.events.EventTypes;
+import rs.master.o2c.events.Money;
+import rs.master.o2c.events.ProducerNames;
+import rs.master.o2c.events.TopicNames;
+import rs.master.o2c.events.checkout.CheckoutStatus;
+import rs.master.o2c.events.codec.EventEnvelopeCodec;
+import rs.master.o2c.events.order.OrderCreated;
+import rs.master.o2c.infra.inbox.InboxDeduplicator;
+import rs.master.o2c.infra.outbox.OutboxRecord;
+import rs.master.o2c.infra.outbox.OutboxStore;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("unchecked")
+class OrderEventsHandlerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final CheckoutRepository checkoutRepository = mock(CheckoutRepository.class);
+    private final OutboxStore outboxStore = mock(OutboxStore.class);
+    private final InboxDeduplicator inboxDeduplicator =
+            new InboxDeduplicator("test", 10, id -> Mono.just(true), new SimpleMeterRegistry());
+    private final OrderEventsHandler handler = new OrderEventsHandler(
+            new EventEnvelopeCodec(objectMapper), checkoutRepository, inboxDeduplicator, outboxStore);
+
+    @Test
+    void handle_shouldInsertCompletedCheckoutAndStageBothEventsTogether() throws Exception {
+        String orderId = UUID.randomUUID().toString();
+        when(checkoutRepository.save(any(CheckoutEntity.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(outboxStore.insertAll(anyList())).thenReturn(Mono.just(2));
+
+        StepVerifier.create(handler.handle(orderCreated(orderId))).verifyComplete();
+
+        ArgumentCaptor<CheckoutEntity> checkout = ArgumentCaptor.forClass(CheckoutEntity.class);
+        verify(checkoutRepository, times(1)).save(checkout.capture());
+        assertThat(checkout.getValue().status()).isEqualTo(CheckoutStatus.COMPLETED);
+        assertThat(checkout.getValue().updatedAt()).isEqualTo(checkout.getValue().createdAt());
+
+        ArgumentCaptor<List<OutboxRecord>> rows = ArgumentCaptor.forClass(List.class);
+        verify(outboxStore, times(1)).insertAll(rows.capture());
+        assertThat(rows.getValue())
+                .extracting(OutboxRecord::topic)
+                .containsExactly(TopicNames.CHECKOUT_EVENTS_V1, TopicNames.PAYMENT_REQUESTS_V1);
+        assertThat(rows.getValue())
+                .extracting(OutboxRecord::eventType)
+                .containsExactly(EventTypes.CHECKOUT_COMPLETED, EventTypes.PAYMENT_REQUESTED);
+        assertThat(rows.getValue()).allSatisfy(row -> assertThat(row.aggregateId()).isEqualTo(orderId));
+    }
+
+    @Test
+    void handle_shouldStageNothingWhenTheOrderAlreadyHasACheckout() throws Exception {
+        when(checkoutRepository.save(any(CheckoutEntity.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("uk_checkout_order")));
+
+        StepVerifier.create(handler.handle(orderCreated(UUID.randomUUID().toString()))).verifyComplete();
+
+        verifyNoInteractions(outboxStore);
+    }
+
+    @Test
+    void handle_shouldFailWhenTheOutboxInsertFails() throws Exception {
+        when(checkoutRepository.save(any(CheckoutEntity.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(outboxStore.insertAll(anyList()))
+                .thenReturn(Mono.error(new DataIntegrityViolationException("outbox_event")));
+
+        StepVerifier.create(handler.handle(orderCreated(UUID.randomUUID().toString())))
+                .expectError(DataIntegrityViolationException.class)
+                .verify();
+    }
+
+    private byte[] orderCreated(String orderId) throws Exception {
+        return objectMapper.writeValueAsBytes(new EventEnvelope<>(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                null,
+                EventTypes.ORDER_CREATED,
+                1,
+                Instant.now(),
+                ProducerNames.ORDER_SERVICE,
+                orderId,
+                new OrderCreated(orderId, "cust-1", new Money("EUR", new BigDecimal("25.00")), "CREATED")
+        ));
+    }
+}
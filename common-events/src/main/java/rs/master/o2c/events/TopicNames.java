@@ -12,4 +12,6 @@ public final class TopicNames {
     public static final String PAYMENT_REQUESTS_DLQ_V1 = "payment.requests.dlq.v1";
     public static final String PAYMENT_EVENTS_V1 = "payment.events.v1";
     public static final String PAYMENT_EVENTS_DLQ_V1 = "payment.events.dlq.v1";
+
+    public static final String TIMELINE_DLQ_V1 = "o2c.timeline.dlq.v1";
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package rs.master.o2c.events.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the shared {@link EventEnvelopeCodec}, built from the application's ObjectMapper.
+ * Services {@code @Import} it from their Kafka configuration, so test slices without Jackson stay loadable.
+ */
+@Configuration(proxyBeanMethods = false)
+public class EventCodecConfiguration {
+
+    @Bean
+    public EventEnvelopeCodec eventEnvelopeCodec(ObjectMapper objectMapper) {
+        return new EventEnvelopeCodec(objectMapper);
+    }
+}
@@ -0,0 +1,89 @@
+package rs.master.o2c.events.codec;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import rs.master.o2c.events.EventEnvelope;
+import rs.master.o2c.events.checkout.CheckoutCompleted;
+import rs.master.o2c.events.checkout.CheckoutFailed;
+import rs.master.o2c.events.order.OrderCreated;
+import rs.master.o2c.events.payment.PaymentCompleted;
+import rs.master.o2c.events.payment.PaymentFailed;
+import rs.master.o2c.events.payment.PaymentRequested;
+
+/**
+ * Reads and writes {@link EventEnvelope}s through readers and writers resolved once per payload type,
+ * instead of a fresh TypeReference and a type resolution on every readValue/writeValueAsString.
+ * The known event payloads are resolved up front; any other payload type is resolved on first use.
+ *
+ * ObjectReader and ObjectWriter are immutable, so one codec is safely shared by all threads.
+ * It inherits the configuration (modules, features) of the ObjectMapper it is built from.
+ */
+public final class EventEnvelopeCodec {
+
+    private static final List<Class<?>> KNOWN_PAYLOADS = List.of(
+            OrderCreated.class,
+            CheckoutCompleted.class,
+            CheckoutFailed.class,
+            PaymentRequested.class,
+            PaymentCompleted.class,
+            PaymentFailed.class
+    );
+
+    private final ObjectMapper objectMapper;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public EventEnvelopeCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        KNOWN_PAYLOADS.forEach(payloadType -> {
+            reader(payloadType);
+            writer(payloadType);
+        });
+    }
+
+    public <T> EventEnvelope<T> read(String json, Class<T> payloadType) throws IOException {
+        return reader(payloadType).readValue(json);
+    }
+
+    /**
+     * Parses straight from the record bytes, without decoding them into a String first.
+     */
+    public <T> EventEnvelope<T> read(byte[] json, Class<T> payloadType) throws IOException {
+        return reader(payloadType).readValue(json);
+    }
+
+    public String write(EventEnvelope<?> envelope) throws JsonProcessingException {
+        return writer(payloadTypeOf(envelope)).writeValueAsString(envelope);
+    }
+
+    /**
+     * Encodes straight to UTF-8 through Jackson's recycled buffers, skipping the intermediate String.
+     */
+    public byte[] writeBytes(EventEnvelope<?> envelope) throws JsonProcessingException {
+        return writer(payloadTypeOf(envelope)).writeValueAsBytes(envelope);
+    }
+
+    public ObjectReader reader(Class<?> payloadType) {
+        return readers.computeIfAbsent(payloadType, type -> objectMapper.readerFor(envelopeType(type)));
+    }
+
+    public ObjectWriter writer(Class<?> payloadType) {
+        return writers.computeIfAbsent(payloadType, type -> objectMapper.writerFor(envelopeType(type)));
+    }
+
+    private JavaType envelopeType(Class<?> payloadType) {
+        return objectMapper.getTypeFactory().constructParametricType(EventEnvelope.class, payloadType);
+    }
+
+    private static Class<?> payloadTypeOf(EventEnvelope<?> envelope) {
+        return envelope.payload() == null ? Object.class : envelope.payload().getClass();
+    }
+}
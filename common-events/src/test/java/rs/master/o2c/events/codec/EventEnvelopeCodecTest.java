@@ -0,0 +1,128 @@
+package rs.master.o2c.events.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import rs.master.o2c.events.EventEnvelope;
+import rs.master.o2c.events.EventTypes;
+import rs.master.o2c.events.Money;
+import rs.master.o2c.events.ProducerNames;
+import rs.master.o2c.events.checkout.CheckoutCompleted;
+import rs.master.o2c.events.checkout.CheckoutFailed;
+import rs.master.o2c.events.order.OrderCreated;
+import rs.master.o2c.events.payment.PaymentCompleted;
+import rs.master.o2c.events.payment.PaymentFailed;
+import rs.master.o2c.events.payment.PaymentRequested;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class EventEnvelopeCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final EventEnvelopeCodec codec = new EventEnvelopeCodec(objectMapper);
+
+    @Test
+    void orderCreated_shouldRoundTrip() throws Exception {
+        assertRoundTrip(EventTypes.ORDER_CREATED,
+                new OrderCreated("o-1", "c-1", new Money("EUR", new BigDecimal("25.00")), "CREATED"),
+                OrderCreated.class);
+    }
+
+    @Test
+    void checkoutCompleted_shouldRoundTrip() throws Exception {
+        assertRoundTrip(EventTypes.CHECKOUT_COMPLETED,
+                new CheckoutCompleted("ch-1", "o-1", "c-1"),
+                CheckoutCompleted.class);
+    }
+
+    @Test
+    void checkoutFailed_shouldRoundTrip() throws Exception {
+        assertRoundTrip(EventTypes.CHECKOUT_FAILED,
+                new CheckoutFailed("ch-1", "o-1", "declined"),
+                CheckoutFailed.class);
+    }
+
+    @Test
+    void paymentRequested_shouldRoundTrip() throws Exception {
+        assertRoundTrip(EventTypes.PAYMENT_REQUESTED,
+                new PaymentRequested("ch-1", "o-1", "c-1", new BigDecimal("25.00"), "EUR"),
+                PaymentRequested.class);
+    }
+
+    @Test
+    void paymentCompleted_shouldRoundTrip() throws Exception {
+        assertRoundTrip(EventTypes.PAYMENT_COMPLETED,
+                new PaymentCompleted("p-1", "ch-1", "o-1", new BigDecimal("25.00"), "EUR"),
+                PaymentCompleted.class);
+    }
+
+    @Test
+    void paymentFailed_shouldRoundTrip() throws Exception {
+        assertRoundTrip(EventTypes.PAYMENT_FAILED,
+                new PaymentFailed("p-1", "ch-1", "o-1", "insufficient funds"),
+                PaymentFailed.class);
+    }
+
+    @Test
+    void unknownPayloadType_shouldBeResolvedOnFirstUseAndCached() throws Exception {
+        record Custom(String name, int count) {}
+
+        assertRoundTrip("CustomHappened", new Custom("x", 3), Custom.class);
+
+        assertSame(codec.reader(Custom.class), codec.reader(Custom.class));
+        assertSame(codec.writer(Custom.class), codec.writer(Custom.class));
+    }
+
+    @Test
+    void nullPayload_shouldBeWrittenThroughTheObjectWriter() throws Exception {
+        EventEnvelope<Object> envelope = envelope("Heartbeat", null);
+
+        String json = codec.write(envelope);
+
+        assertEquals(json, objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructParametricType(EventEnvelope.class, Object.class)).writeValueAsString(envelope));
+        assertSame(codec.writer(Object.class), codec.writer(Object.class));
+
+        EventEnvelope<Map> read = codec.read(json, Map.class);
+        assertNull(read.payload());
+        assertEquals(envelope.messageId(), read.messageId());
+    }
+
+    private <T> void assertRoundTrip(String eventType, T payload, Class<T> payloadType) throws Exception {
+        EventEnvelope<T> envelope = envelope(eventType, payload);
+
+        String json = codec.write(envelope);
+        byte[] bytes = codec.writeBytes(envelope);
+
+        assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), bytes);
+        assertEquals(envelope, codec.read(json, payloadType));
+        assertEquals(envelope, codec.read(bytes, payloadType));
+    }
+
+    private static <T> EventEnvelope<T> envelope(String eventType, T payload) {
+        return new EventEnvelope<>(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                eventType,
+                1,
+                Instant.parse("2026-01-01T10:00:00Z"),
+                ProducerNames.ORDER_SERVICE,
+                "o-1",
+                payload
+        );
+    }
+}
@@ -0,0 +1,62 @@
+package rs.master.o2c.infra.inbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import rs.master.o2c.infra.tx.TransactionConfiguration;
+
+import java.time.Instant;
+
+/**
+ * Inbox wiring shared by the services that deduplicate consumed messages in inbox_processed: the
+ * store, one deduplicator whose claim and handler commit in a single transaction, and the retention
+ * job, which starts once the application is ready. Services {@code @Import} it.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(InboxProperties.class)
+@Import(TransactionConfiguration.class)
+public class InboxConfiguration {
+
+    @Bean
+    public InboxStore inboxStore(DatabaseClient databaseClient) {
+        return new InboxStore(databaseClient);
+    }
+
+    @Bean
+    public InboxDeduplicator inboxDeduplicator(
+            InboxStore store,
+            InboxProperties properties,
+            @Value("${spring.application.name}") String applicationName,
+            TransactionalOperator transactionalOperator,
+            MeterRegistry meterRegistry
+    ) {
+        String name = properties.name() == null || properties.name().isBlank()
+                ? applicationName
+                : properties.name();
+
+        return new InboxDeduplicator(
+                name,
+                properties.dedupCacheSize(),
+                messageId -> store.insertIgnore(messageId, Instant.now()),
+                transactionalOperator::transactional,
+                meterRegistry
+        );
+    }
+
+    @Bean(destroyMethod = "stop")
+    public InboxRetentionJob inboxRetentionJob(InboxStore store, InboxProperties properties, MeterRegistry meterRegistry) {
+        return new InboxRetentionJob(store, properties, meterRegistry);
+    }
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> inboxRetentionStarter(InboxRetentionJob retentionJob) {
+        return event -> retentionJob.start();
+    }
+}
@@ -0,0 +1,155 @@
+package rs.master.o2c.infra.inbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs a handler at most once per message id.
+ *
+ * A bounded LRU of recently completed ids answers warm redeliveries without a database round trip;
+ * everything else goes through {@code claim}, which must insert the id into the inbox table and emit
+ * whether it was new (an INSERT IGNORE, so duplicates cost no exception).
+ *
+ * The claim and the handler run as one {@code unitOfWork} (typically a database transaction), so the
+ * inbox row commits or rolls back together with the handler's state change. An id is remembered only
+ * after that unit completed.
+ */
+public final class InboxDeduplicator {
+
+    private final Function<String, Mono<Boolean>> claim;
+    private final UnaryOperator<Mono<Void>> unitOfWork;
+    private final Map<String, Boolean> recent;
+
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Counter storeDuplicates;
+
+    public InboxDeduplicator(
+            String name,
+            int capacity,
+            Function<String, Mono<Boolean>> claim,
+            MeterRegistry meterRegistry
+    ) {
+        this(name, capacity, claim, UnaryOperator.identity(), meterRegistry);
+    }
+
+    public InboxDeduplicator(
+            String name,
+            int capacity,
+            Function<String, Mono<Boolean>> claim,
+            UnaryOperator<Mono<Void>> unitOfWork,
+            MeterRegistry meterRegistry
+    ) {
+        this.claim = claim;
+        this.unitOfWork = unitOfWork;
+        this.recent = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        };
+
+        this.cacheHits = Counter.builder("inbox.dedup.cache")
+                .description("Inbox dedup lookups answered by the recent-id cache")
+                .tag("inbox", name)
+                .tag("result", "hit")
+                .register(meterRegistry);
+
+        this.cacheMisses = Counter.builder("inbox.dedup.cache")
+                .description("Inbox dedup lookups answered by the recent-id cache")
+                .tag("inbox", name)
+                .tag("result", "miss")
+                .register(meterRegistry);
+
+        this.storeDuplicates = Counter.builder("inbox.dedup.store.duplicates")
+                .description("Duplicates detected by the inbox table after a cache miss")
+                .tag("inbox", name)
+                .register(meterRegistry);
+
+        Gauge.builder("inbox.dedup.cache.hit.ratio", this, InboxDeduplicator::hitRatio)
+                .description("Share of inbox dedup lookups answered by the recent-id cache")
+                .tag("inbox", name)
+                .register(meterRegistry);
+    }
+
+    public Mono<Void> once(String messageId, Supplier<Mono<Void>> handler) {
+        return Mono.defer(() -> {
+            if (seen(messageId)) {
+                cacheHits.increment();
+                return Mono.empty();
+            }
+            cacheMisses.increment();
+
+            Mono<Void> work = claim.apply(messageId)
+                    .flatMap(isNew -> {
+                        if (isNew) {
+                            return handler.get();
+                        }
+                        storeDuplicates.increment();
+                        return Mono.empty();
+                    });
+
+            return unitOfWork.apply(work)
+                    .then(Mono.fromRunnable(() -> remember(messageId)));
+        });
+    }
+
+    /**
+     * Batch form of {@link #once}: ids in the recent-id cache are dropped, {@code claimAll} must record
+     * the remaining ids and emit the subset that was new, and {@code handler} runs for that subset, all
+     * in one unit of work.
+     */
+    public Mono<Void> onceAll(
+            List<String> messageIds,
+            Function<List<String>, Mono<Set<String>>> claimAll,
+            Function<Set<String>, Mono<Void>> handler
+    ) {
+        return Mono.defer(() -> {
+            List<String> unseen = new LinkedHashSet<>(messageIds).stream()
+                    .filter(messageId -> {
+                        boolean seen = seen(messageId);
+                        (seen ? cacheHits : cacheMisses).increment();
+                        return !seen;
+                    })
+                    .toList();
+
+            if (unseen.isEmpty()) {
+                return Mono.empty();
+            }
+
+            Mono<Void> work = claimAll.apply(unseen)
+                    .flatMap(newIds -> {
+                        storeDuplicates.increment(unseen.size() - newIds.size());
+                        return newIds.isEmpty() ? Mono.empty() : handler.apply(newIds);
+                    });
+
+            return unitOfWork.apply(work)
+                    .then(Mono.fromRunnable(() -> unseen.forEach(this::remember)));
+        });
+    }
+
+    private synchronized boolean seen(String messageId) {
+        return recent.get(messageId) != null;
+    }
+
+    private synchronized void remember(String messageId) {
+        recent.put(messageId, Boolean.TRUE);
+    }
+
+    private double hitRatio() {
+        double hits = cacheHits.count();
+        double total = hits + cacheMisses.count();
+        return total == 0 ? 0 : hits / total;
+    }
+}
@@ -0,0 +1,25 @@
+package rs.master.o2c.infra.inbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import rs.master.o2c.infra.retention.PurgeSettings;
+
+import java.time.Duration;
+
+/**
+ * name tags the deduplicator's metrics and defaults to spring.application.name.
+ *
+ * retention must stay longer than the longest redelivery horizon of the consumed topic (its Kafka
+ * retention), otherwise a redelivered message could be handled a second time.
+ */
+@ConfigurationProperties(prefix = "inbox")
+public record InboxProperties(String name, int dedupCacheSize, PurgeSettings retention) {
+
+    public InboxProperties {
+        if (dedupCacheSize <= 0) {
+            dedupCacheSize = 10_000;
+        }
+        if (retention == null) {
+            retention = new PurgeSettings(null, Duration.ofDays(8), null, 0, null);
+        }
+    }
+}
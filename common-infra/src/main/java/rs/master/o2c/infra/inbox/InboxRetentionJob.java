@@ -0,0 +1,36 @@
+package rs.master.o2c.infra.inbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import rs.master.o2c.infra.retention.ChunkedPurgeJob;
+
+/**
+ * Deletes inbox_processed rows older than inbox.retention.retention along idx_inbox_processed_at.
+ */
+public final class InboxRetentionJob {
+
+    private final ChunkedPurgeJob job;
+
+    private volatile Disposable running;
+
+    public InboxRetentionJob(InboxStore store, InboxProperties properties, MeterRegistry meterRegistry) {
+        this.job = new ChunkedPurgeJob(
+                "inbox.retention",
+                properties.retention(),
+                store::deleteProcessedBefore,
+                store::approximateRowCount,
+                meterRegistry
+        );
+    }
+
+    public void start() {
+        running = job.start();
+    }
+
+    public void stop() {
+        Disposable current = running;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+}
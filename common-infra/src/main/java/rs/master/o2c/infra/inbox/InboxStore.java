@@ -0,0 +1,123 @@
+package rs.master.o2c.infra.inbox;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Data access for the inbox_processed table shared by every service that deduplicates consumed
+ * messages: the claims used by {@link InboxDeduplicator} and the retention delete.
+ */
+public class InboxStore {
+
+    private static final String SQL_INSERT_IGNORE = """
+            insert ignore into inbox_processed (message_id, processed_at)
+            values (:messageId, :processedAt)
+            """;
+
+    private static final String SQL_FIND_EXISTING = """
+            select message_id
+            from inbox_processed
+            where message_id in (:ids)
+            """;
+
+    private static final String SQL_DELETE_PROCESSED_BEFORE = """
+            delete from inbox_processed
+            where processed_at < :cutoff
+            order by processed_at
+            limit :limit
+            """;
+
+    /**
+     * InnoDB's estimate from table statistics; cheap, unlike count(*).
+     */
+    private static final String SQL_APPROXIMATE_ROW_COUNT = """
+            select coalesce(table_rows, 0) as row_count
+            from information_schema.tables
+            where table_schema = database()
+              and table_name = 'inbox_processed'
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public InboxStore(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Emits true when the message id was recorded by this call and false when it was already there.
+     */
+    public Mono<Boolean> insertIgnore(String messageId, Instant processedAt) {
+        return databaseClient.sql(SQL_INSERT_IGNORE)
+                .bind("messageId", messageId)
+                .bind("processedAt", processedAt)
+                .fetch()
+                .rowsUpdated()
+                .map(inserted -> inserted > 0);
+    }
+
+    /**
+     * Records the ids not yet in the inbox and emits exactly those: one read and one multi-row insert
+     * per batch. A concurrent insert of the same id by another instance makes the insert fail with a
+     * duplicate key, which fails the batch as a whole.
+     */
+    public Mono<Set<String>> insertMissing(List<String> messageIds, Instant processedAt) {
+        if (messageIds.isEmpty()) {
+            return Mono.just(Set.of());
+        }
+
+        return databaseClient.sql(SQL_FIND_EXISTING)
+                .bind("ids", messageIds)
+                .map(row -> row.get("message_id", String.class))
+                .all()
+                .collect(Collectors.toSet())
+                .flatMap(existing -> {
+                    Set<String> missing = new LinkedHashSet<>(messageIds);
+                    missing.removeAll(existing);
+
+                    return insertAll(missing, processedAt).thenReturn(missing);
+                });
+    }
+
+    public Mono<Integer> deleteProcessedBefore(Instant cutoff, int limit) {
+        return databaseClient.sql(SQL_DELETE_PROCESSED_BEFORE)
+                .bind("cutoff", cutoff)
+                .bind("limit", limit)
+                .fetch()
+                .rowsUpdated()
+                .map(Long::intValue);
+    }
+
+    public Mono<Long> approximateRowCount() {
+        return databaseClient.sql(SQL_APPROXIMATE_ROW_COUNT)
+                .map(row -> row.get("row_count", Long.class))
+                .one()
+                .defaultIfEmpty(0L);
+    }
+
+    private Mono<Void> insertAll(Set<String> messageIds, Instant processedAt) {
+        if (messageIds.isEmpty()) {
+            return Mono.empty();
+        }
+
+        StringBuilder sql = new StringBuilder("insert into inbox_processed (message_id, processed_at) values ");
+        for (int i = 0; i < messageIds.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(:id").append(i).append(", :processedAt)");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString())
+                .bind("processedAt", processedAt);
+
+        int i = 0;
+        for (String messageId : messageIds) {
+            spec = spec.bind("id" + i++, messageId);
+        }
+
+        return spec.fetch().rowsUpdated().then();
+    }
+}
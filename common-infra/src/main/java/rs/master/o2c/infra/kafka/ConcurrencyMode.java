@@ -0,0 +1,17 @@
+package rs.master.o2c.infra.kafka;
+
+/**
+ * How a {@link ReactiveConsumerEngine} spreads records over its lanes; records sharing a lane are
+ * always handled one after another.
+ */
+public enum ConcurrencyMode {
+
+    /** One lane: the whole stream is handled in order. */
+    SERIAL,
+
+    /** Lanes by partition: per-partition order, acknowledgements in offset order. */
+    PARTITION,
+
+    /** Lanes by record key: per-key order; acks may run ahead of offsets and are deferred by the receiver. */
+    KEY
+}
@@ -0,0 +1,84 @@
+package rs.master.o2c.infra.kafka;
+
+import reactor.kafka.receiver.ReceiverOptions;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Tuning for a {@link ReactiveConsumerEngine}. Zero or null values fall back to the defaults.
+ *
+ * @param concurrency number of lanes handled in parallel (ignored for SERIAL)
+ * @param maxInFlight records buffered ahead of the handlers; once reached, demand stops and the
+ *                    receiver pauses its partitions until the lanes catch up
+ * @param retryTiers  delays of the retry topics a failing record moves through before the DLQ;
+ *                    empty disables retry topics (records are retried in place instead)
+ * @param batchSize   records of one lane handed to the batch handler at once (1 disables batching)
+ * @param batchWindow how long a lane waits to fill a batch before handing over what it has
+ */
+public record ConsumerEngineOptions(
+        ConcurrencyMode mode,
+        int concurrency,
+        int maxInFlight,
+        Duration commitInterval,
+        int commitBatchSize,
+        List<Duration> retryTiers,
+        int batchSize,
+        Duration batchWindow
+) {
+    public ConsumerEngineOptions {
+        if (mode == null) {
+            mode = ConcurrencyMode.PARTITION;
+        }
+        if (concurrency <= 0) {
+            concurrency = 4;
+        }
+        if (maxInFlight <= 0) {
+            maxInFlight = 256;
+        }
+        if (commitInterval == null || commitInterval.isNegative() || commitInterval.isZero()) {
+            commitInterval = Duration.ofSeconds(1);
+        }
+        if (commitBatchSize <= 0) {
+            commitBatchSize = 100;
+        }
+        retryTiers = retryTiers == null
+                ? List.of(Duration.ofSeconds(5), Duration.ofMinutes(1))
+                : List.copyOf(retryTiers);
+        if (batchSize <= 0) {
+            batchSize = 1;
+        }
+        if (batchWindow == null || batchWindow.isNegative() || batchWindow.isZero()) {
+            batchWindow = Duration.ofMillis(20);
+        }
+    }
+
+    public static ConsumerEngineOptions defaults() {
+        return new ConsumerEngineOptions(null, 0, 0, null, 0, null, 0, null);
+    }
+
+    /**
+     * False when retry-tiers is empty: failing records are retried in place and no retry topic exists
+     * to subscribe to, so callers must not start a retry consumer.
+     */
+    public boolean hasRetryTopics() {
+        return !retryTiers.isEmpty();
+    }
+
+    public List<String> retryTopics(String topic, String groupId) {
+        return retryTiers.stream()
+                .map(delay -> RetryTopics.name(topic, groupId, delay))
+                .toList();
+    }
+
+    public <K, V> ReceiverOptions<K, V> applyTo(ReceiverOptions<K, V> receiverOptions) {
+        ReceiverOptions<K, V> options = receiverOptions
+                .commitInterval(commitInterval)
+                .commitBatchSize(commitBatchSize);
+
+        // Key lanes acknowledge out of offset order; the receiver holds commits until the gaps close.
+        return mode == ConcurrencyMode.KEY
+                ? options.maxDeferredCommits(maxInFlight)
+                : options;
+    }
+}
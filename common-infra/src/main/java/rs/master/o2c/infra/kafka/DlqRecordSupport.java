@@ -1,10 +1,12 @@
 package rs.master.o2c.infra.kafka;
 
 import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
 import reactor.kafka.receiver.ReceiverRecord;
-import rs.master.o2c.events.CorrelationHeaders;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Set;
 
 public final class DlqRecordSupport {
 
@@ -12,23 +14,70 @@ public final class DlqRecordSupport {
     public static final String HDR_ORIGINAL_PARTITION = "x-original-partition";
     public static final String HDR_ORIGINAL_OFFSET = "x-original-offset";
     public static final String HDR_ERROR_CLASS = "x-error-class";
+    public static final String HDR_ATTEMPT = "x-attempt";
+    public static final String HDR_RETRY_NOT_BEFORE = "x-retry-not-before";
+
+    /**
+     * Headers describing the current failure; rewritten on every hop instead of being carried over.
+     */
+    private static final Set<String> PER_HOP_HEADERS = Set.of(HDR_ERROR_CLASS, HDR_ATTEMPT, HDR_RETRY_NOT_BEFORE);
 
     private DlqRecordSupport() {}
 
     /**
-     * Enriches a DLQ record with correlation id (if present) and origin/error metadata.
+     * Enriches a DLQ record with all headers of the consumed record (correlation id and any other
+     * producer header) plus origin/error metadata.
      *
-     * Behavior intentionally matches the per-service implementations.
+     * Origin headers always point at the record as first consumed from its main topic, even when
+     * it reaches the DLQ through retry topics; x-attempt counts failed deliveries so far.
      */
     public static <K, V> void enrich(ProducerRecord<K, V> out, ReceiverRecord<K, V> in, Throwable cause) {
-        var correlationHeader = in.headers().lastHeader(CorrelationHeaders.X_CORRELATION_ID);
-        if (correlationHeader != null && correlationHeader.value() != null && correlationHeader.value().length > 0) {
-            out.headers().add(CorrelationHeaders.X_CORRELATION_ID, correlationHeader.value());
+        for (Header header : in.headers()) {
+            if (!PER_HOP_HEADERS.contains(header.key())) {
+                out.headers().add(header.key(), header.value());
+            }
         }
 
-        out.headers().add(HDR_ORIGINAL_TOPIC, in.topic().getBytes(StandardCharsets.UTF_8));
-        out.headers().add(HDR_ORIGINAL_PARTITION, String.valueOf(in.partition()).getBytes(StandardCharsets.UTF_8));
-        out.headers().add(HDR_ORIGINAL_OFFSET, String.valueOf(in.offset()).getBytes(StandardCharsets.UTF_8));
+        if (in.headers().lastHeader(HDR_ORIGINAL_TOPIC) == null) {
+            out.headers().add(HDR_ORIGINAL_TOPIC, in.topic().getBytes(StandardCharsets.UTF_8));
+            out.headers().add(HDR_ORIGINAL_PARTITION, String.valueOf(in.partition()).getBytes(StandardCharsets.UTF_8));
+            out.headers().add(HDR_ORIGINAL_OFFSET, String.valueOf(in.offset()).getBytes(StandardCharsets.UTF_8));
+        }
         out.headers().add(HDR_ERROR_CLASS, cause.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        out.headers().add(HDR_ATTEMPT, String.valueOf(attempt(in) + 1).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Same as {@link #enrich} plus the earliest time the retry-topic consumer may handle the record.
+     */
+    public static <K, V> void enrichRetry(ProducerRecord<K, V> out, ReceiverRecord<K, V> in, Throwable cause, Instant notBefore) {
+        enrich(out, in, cause);
+        out.headers().add(HDR_RETRY_NOT_BEFORE, String.valueOf(notBefore.toEpochMilli()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Failed deliveries recorded on the record so far; 0 for a record read from its main topic.
+     */
+    public static int attempt(ReceiverRecord<?, ?> in) {
+        String value = headerValue(in, HDR_ATTEMPT);
+        return value == null ? 0 : Integer.parseInt(value);
+    }
+
+    public static String originalTopic(ReceiverRecord<?, ?> in) {
+        String value = headerValue(in, HDR_ORIGINAL_TOPIC);
+        return value == null ? in.topic() : value;
+    }
+
+    public static Instant retryNotBefore(ReceiverRecord<?, ?> in) {
+        String value = headerValue(in, HDR_RETRY_NOT_BEFORE);
+        return value == null ? null : Instant.ofEpochMilli(Long.parseLong(value));
+    }
+
+    private static String headerValue(ReceiverRecord<?, ?> in, String name) {
+        var header = in.headers().lastHeader(name);
+        if (header == null || header.value() == null || header.value().length == 0) {
+            return null;
+        }
+        return new String(header.value(), StandardCharsets.UTF_8);
     }
 }
@@ -15,6 +15,16 @@ public final class KafkaRetryPolicies {
                 .jitter(0.25);
     }
 
+    /**
+     * Short in-place retry for transient blips when a record can fall back to retry topics.
+     */
+    public static Retry inlineRetry() {
+        return Retry
+                .backoff(2, Duration.ofMillis(200))
+                .maxBackoff(Duration.ofSeconds(1))
+                .jitter(0.25);
+    }
+
     public static Retry dlqRetry() {
         return Retry
                 .backoff(8, Duration.ofMillis(250))
@@ -0,0 +1,281 @@
+package rs.master.o2c.infra.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.util.retry.Retry;
+import rs.master.o2c.events.CorrelationHeaders;
+import rs.master.o2c.infra.correlation.CorrelationIdSupport;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Shared receive -> handle -> retry -> DLQ -> acknowledge pipeline.
+ *
+ * With a {@link RetryTopicPublisher}, a record that still fails after {@link KafkaRetryPolicies#inlineRetry()}
+ * is forwarded to the next retry tier and acknowledged, so its partition keeps flowing; the tiers are
+ * consumed by {@link #startRetries} once their delay has passed, and a record failing its last tier goes
+ * to the DLQ. Ordering per key is given up for records that take the retry path.
+ *
+ * Without one, the record is retried in place with {@link KafkaRetryPolicies#processingRetry()} and
+ * then handed to the DLQ. Either way, if forwarding fails too the stream errors without acknowledging
+ * and is resubscribed with {@link KafkaRetryPolicies#streamRetry()}.
+ *
+ * With a batch handler and a batch size above 1, each lane hands consecutive records over as one
+ * list (lane order preserved) and acknowledges them together; if the batch fails, its records go
+ * through the per-record path above one by one.
+ */
+public final class ReactiveConsumerEngine<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveConsumerEngine.class);
+
+    private final String name;
+    private final Function<ReceiverRecord<K, V>, Mono<Void>> handler;
+    private final Function<List<ReceiverRecord<K, V>>, Mono<Void>> batchHandler;
+    private final RetryTopicPublisher<K, V> retryPublisher;
+    private final BiFunction<ReceiverRecord<K, V>, Throwable, Mono<Void>> deadLetterPublisher;
+    private final ConsumerEngineOptions options;
+
+    private final Counter handledCounter;
+    private final Counter retriedCounter;
+    private final Counter deadLetteredCounter;
+    private final Timer handleTimer;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public ReactiveConsumerEngine(
+            String name,
+            Function<ReceiverRecord<K, V>, Mono<Void>> handler,
+            BiFunction<ReceiverRecord<K, V>, Throwable, Mono<Void>> deadLetterPublisher,
+            ConsumerEngineOptions options,
+            MeterRegistry meterRegistry
+    ) {
+        this(name, handler, null, deadLetterPublisher, options, meterRegistry);
+    }
+
+    public ReactiveConsumerEngine(
+            String name,
+            Function<ReceiverRecord<K, V>, Mono<Void>> handler,
+            RetryTopicPublisher<K, V> retryPublisher,
+            BiFunction<ReceiverRecord<K, V>, Throwable, Mono<Void>> deadLetterPublisher,
+            ConsumerEngineOptions options,
+            MeterRegistry meterRegistry
+    ) {
+        this(name, handler, null, retryPublisher, deadLetterPublisher, options, meterRegistry);
+    }
+
+    public ReactiveConsumerEngine(
+            String name,
+            Function<ReceiverRecord<K, V>, Mono<Void>> handler,
+            Function<List<ReceiverRecord<K, V>>, Mono<Void>> batchHandler,
+            RetryTopicPublisher<K, V> retryPublisher,
+            BiFunction<ReceiverRecord<K, V>, Throwable, Mono<Void>> deadLetterPublisher,
+            ConsumerEngineOptions options,
+            MeterRegistry meterRegistry
+    ) {
+        this.name = name;
+        this.handler = handler;
+        this.batchHandler = options.batchSize() > 1 ? batchHandler : null;
+        this.retryPublisher = options.hasRetryTopics() ? retryPublisher : null;
+        this.deadLetterPublisher = deadLetterPublisher;
+        this.options = options;
+
+        this.handledCounter = Counter.builder("kafka.consumer.records")
+                .description("Records handled by the consumer engine")
+                .tag("consumer", name)
+                .tag("outcome", "handled")
+                .register(meterRegistry);
+
+        this.retriedCounter = Counter.builder("kafka.consumer.records")
+                .description("Records handled by the consumer engine")
+                .tag("consumer", name)
+                .tag("outcome", "retried")
+                .register(meterRegistry);
+
+        this.deadLetteredCounter = Counter.builder("kafka.consumer.records")
+                .description("Records handled by the consumer engine")
+                .tag("consumer", name)
+                .tag("outcome", "dead-lettered")
+                .register(meterRegistry);
+
+        this.handleTimer = Timer.builder("kafka.consumer.handle")
+                .description("Time from handler start to acknowledgement, retries included")
+                .tag("consumer", name)
+                .register(meterRegistry);
+
+        Gauge.builder("kafka.consumer.in.flight", inFlight, AtomicInteger::get)
+                .description("Records currently being handled")
+                .tag("consumer", name)
+                .register(meterRegistry);
+    }
+
+    public Disposable start(Flux<ReceiverRecord<K, V>> records) {
+        return consume(records)
+                .doOnError(e -> log.error("{} consumer stream error correlationId=n/a", name, e))
+                .retryWhen(KafkaRetryPolicies.streamRetry())
+                .subscribe();
+    }
+
+    /**
+     * Consumes the retry topics. Each tier is a single lane handled in arrival order: all records of a
+     * tier share one delay, so waiting for the head's due time never holds back an earlier-due record.
+     */
+    public Disposable startRetries(Flux<ReceiverRecord<K, V>> records) {
+        return consumeRetries(records)
+                .doOnError(e -> log.error("{} retry consumer stream error correlationId=n/a", name, e))
+                .retryWhen(KafkaRetryPolicies.streamRetry())
+                .subscribe();
+    }
+
+    public Flux<Void> consumeRetries(Flux<ReceiverRecord<K, V>> records) {
+        int tiers = Math.max(1, options.retryTiers().size());
+
+        return records
+                .groupBy(ReceiverRecord::topic, options.maxInFlight())
+                .flatMap(tier -> tier.concatMap(record -> whenDue(record).then(process(record))), tiers);
+    }
+
+    public Flux<Void> consume(Flux<ReceiverRecord<K, V>> records) {
+        return switch (options.mode()) {
+            case SERIAL -> handleInOrder(records);
+            case PARTITION -> inLanes(records, ReceiverRecord::partition);
+            case KEY -> inLanes(records, record -> Objects.hashCode(record.key()));
+        };
+    }
+
+    /**
+     * Records are hashed onto a fixed number of lanes rather than one group per partition or key,
+     * so the number of groups never exceeds the flatMap concurrency and groupBy cannot stall.
+     */
+    private Flux<Void> inLanes(Flux<ReceiverRecord<K, V>> records, ToIntFunction<ReceiverRecord<K, V>> laneKey) {
+        int lanes = options.concurrency();
+
+        return records
+                .groupBy(record -> Math.floorMod(laneKey.applyAsInt(record), lanes), options.maxInFlight())
+                .flatMap(this::handleInOrder, lanes);
+    }
+
+    private Flux<Void> handleInOrder(Flux<ReceiverRecord<K, V>> records) {
+        if (batchHandler == null) {
+            return records.concatMap(this::process);
+        }
+
+        return records
+                .bufferTimeout(options.batchSize(), options.batchWindow(), true)
+                .concatMap(this::processBatch);
+    }
+
+    private Mono<Void> processBatch(List<ReceiverRecord<K, V>> batch) {
+        if (batch.size() == 1) {
+            return process(batch.get(0));
+        }
+
+        return Mono.defer(() -> {
+                    inFlight.addAndGet(batch.size());
+                    Timer.Sample sample = Timer.start();
+
+                    return batchHandler.apply(batch)
+                            .doOnSuccess(ignored -> handledCounter.increment(batch.size()))
+                            .then(Mono.fromRunnable(() -> batch.forEach(record -> record.receiverOffset().acknowledge())))
+                            .doFinally(signal -> {
+                                inFlight.addAndGet(-batch.size());
+                                sample.stop(handleTimer);
+                            });
+                })
+                .onErrorResume(e -> {
+                    log.warn("{} batch of {} records failed, handling them one by one", name, batch.size(), e);
+                    return Flux.fromIterable(batch).concatMap(this::process).then();
+                })
+                .then();
+    }
+
+    private Mono<Void> process(ReceiverRecord<K, V> record) {
+        return Mono.defer(() -> {
+                    inFlight.incrementAndGet();
+                    Timer.Sample sample = Timer.start();
+
+                    return handler.apply(record)
+                            .retryWhen(inPlaceRetry())
+                            .doOnSuccess(ignored -> handledCounter.increment())
+                            .onErrorResume(e -> escalate(record, e))
+                            .then(Mono.fromRunnable(record.receiverOffset()::acknowledge))
+                            .doFinally(signal -> {
+                                inFlight.decrementAndGet();
+                                sample.stop(handleTimer);
+                            });
+                })
+                .then();
+    }
+
+    private Retry inPlaceRetry() {
+        return retryPublisher == null
+                ? KafkaRetryPolicies.processingRetry()
+                : KafkaRetryPolicies.inlineRetry();
+    }
+
+    private Mono<Void> escalate(ReceiverRecord<K, V> record, Throwable cause) {
+        int attempt = DlqRecordSupport.attempt(record);
+        List<Duration> tiers = options.retryTiers();
+
+        if (retryPublisher == null || attempt >= tiers.size()) {
+            return deadLetter(record, cause);
+        }
+
+        Duration delay = tiers.get(attempt);
+        log.warn(
+                "{} handler failed, retrying in {} correlationId={} topic={} partition={} offset={} attempt={}",
+                name,
+                delay,
+                CorrelationIdSupport.headerValueOrNA(record.headers().lastHeader(CorrelationHeaders.X_CORRELATION_ID)),
+                record.topic(),
+                record.partition(),
+                record.offset(),
+                attempt + 1,
+                cause
+        );
+
+        return retryPublisher.publish(record, cause, delay)
+                .retryWhen(KafkaRetryPolicies.dlqRetry())
+                .doOnSuccess(ignored -> retriedCounter.increment());
+    }
+
+    private static Mono<Void> whenDue(ReceiverRecord<?, ?> record) {
+        Instant notBefore = DlqRecordSupport.retryNotBefore(record);
+        if (notBefore == null) {
+            return Mono.empty();
+        }
+
+        Duration wait = Duration.between(Instant.now(), notBefore);
+        return wait.isNegative() || wait.isZero()
+                ? Mono.empty()
+                : Mono.delay(wait).then();
+    }
+
+    private Mono<Void> deadLetter(ReceiverRecord<K, V> record, Throwable cause) {
+        log.error(
+                "{} handler failed after retries correlationId={} partition={} offset={}",
+                name,
+                CorrelationIdSupport.headerValueOrNA(record.headers().lastHeader(CorrelationHeaders.X_CORRELATION_ID)),
+                record.partition(),
+                record.offset(),
+                cause
+        );
+
+        return deadLetterPublisher.apply(record, cause)
+                .retryWhen(KafkaRetryPolicies.dlqRetry())
+                .doOnSuccess(ignored -> deadLetteredCounter.increment());
+    }
+}
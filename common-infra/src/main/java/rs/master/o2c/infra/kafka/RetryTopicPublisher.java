@@ -0,0 +1,38 @@
+package rs.master.o2c.infra.kafka;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.ReceiverRecord;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Forwards a failed record to the retry topic of the given delay, keeping its key so a retried
+ * record stays on one partition of the tier. Tiers are named per consumer group (see {@link RetryTopics}).
+ */
+public final class RetryTopicPublisher<K, V> {
+
+    private final ReactiveKafkaProducerTemplate<K, V> producer;
+    private final String groupId;
+
+    public RetryTopicPublisher(ReactiveKafkaProducerTemplate<K, V> producer, String groupId) {
+        this.producer = producer;
+        this.groupId = groupId;
+    }
+
+    public Mono<Void> publish(ReceiverRecord<K, V> record, Throwable cause, Duration delay) {
+        return Mono.defer(() -> {
+            ProducerRecord<K, V> out = new ProducerRecord<>(
+                    RetryTopics.name(DlqRecordSupport.originalTopic(record), groupId, delay),
+                    record.key(),
+                    record.value()
+            );
+
+            DlqRecordSupport.enrichRetry(out, record, cause, Instant.now().plus(delay));
+
+            return producer.send(out).then();
+        });
+    }
+}
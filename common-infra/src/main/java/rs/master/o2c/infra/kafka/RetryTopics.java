@@ -0,0 +1,33 @@
+package rs.master.o2c.infra.kafka;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Naming of retry-tier topics: {@code <topic>.<groupId>.retry.<delay>}, e.g.
+ * checkout.events.v1.order-service.retry.5s. Tiers belong to one consumer group, so two groups
+ * reading the same source topic never replay each other's failures.
+ */
+public final class RetryTopics {
+
+    private RetryTopics() {}
+
+    public static String name(String topic, String groupId, Duration delay) {
+        Objects.requireNonNull(groupId, "groupId is required for retry topic names");
+        return topic + "." + groupId + ".retry." + label(delay);
+    }
+
+    static String label(Duration delay) {
+        long seconds = delay.toSeconds();
+        if (seconds > 0 && seconds % 3600 == 0) {
+            return seconds / 3600 + "h";
+        }
+        if (seconds > 0 && seconds % 60 == 0) {
+            return seconds / 60 + "m";
+        }
+        if (seconds > 0 && delay.toMillis() % 1000 == 0) {
+            return seconds + "s";
+        }
+        return delay.toMillis() + "ms";
+    }
+}
@@ -0,0 +1,86 @@
+package rs.master.o2c.infra.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.kafka.sender.SenderOptions;
+
+import java.util.Map;
+
+/**
+ * Transactional outbox wiring shared by the services that stage events in outbox_event: the store,
+ * the relay with its producer, and the retention job. Services {@code @Import} it and stage rows
+ * through {@link OutboxStore#insertAll}; the relay and the purge start once the application is ready.
+ *
+ * Expects the service's primary {@code ReactiveKafkaProducerTemplate<String, byte[]>}.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties({OutboxRelayProperties.class, OutboxRetentionProperties.class})
+public class OutboxConfiguration {
+
+    @Bean
+    public OutboxStore outboxStore(DatabaseClient databaseClient) {
+        return new OutboxStore(databaseClient);
+    }
+
+    /**
+     * Producer used by the outbox relay. Shares the default producer unless outbox.relay.transactional
+     * is set, in which case the relay gets its own transactional producer.
+     */
+    @Bean
+    public ReactiveKafkaProducerTemplate<String, byte[]> outboxRelayProducerTemplate(
+            KafkaProperties properties,
+            OutboxRelayProperties relayProperties,
+            @Value("${spring.application.name}") String applicationName,
+            ReactiveKafkaProducerTemplate<String, byte[]> reactiveKafkaProducerTemplate
+    ) {
+        if (!relayProperties.transactional()) {
+            return reactiveKafkaProducerTemplate;
+        }
+
+        Map<String, Object> props = properties.buildProducerProperties();
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.TRANSACTIONAL_ID_CONFIG, relayProperties.transactionalId(applicationName));
+
+        return new ReactiveKafkaProducerTemplate<>(SenderOptions.create(props));
+    }
+
+    @Bean(destroyMethod = "stop")
+    public OutboxRelay outboxRelay(
+            OutboxStore store,
+            @Qualifier("outboxRelayProducerTemplate") ReactiveKafkaProducerTemplate<String, byte[]> producer,
+            OutboxRelayProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        return new OutboxRelay(store, producer, properties, meterRegistry);
+    }
+
+    @Bean(destroyMethod = "stop")
+    public OutboxRetentionJob outboxRetentionJob(
+            OutboxStore store,
+            OutboxRetentionProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        return new OutboxRetentionJob(store, properties, meterRegistry);
+    }
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> outboxStarter(OutboxRelay relay, OutboxRetentionJob retentionJob) {
+        return event -> {
+            relay.start();
+            retentionJob.start();
+        };
+    }
+}
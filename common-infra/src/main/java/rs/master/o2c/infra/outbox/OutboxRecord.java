@@ -0,0 +1,19 @@
+package rs.master.o2c.infra.outbox;
+
+import java.time.Instant;
+
+/**
+ * One row of outbox_event: an event staged in the business transaction and relayed to {@code topic},
+ * keyed by {@code aggregateId}, with {@code correlationId} (if any) sent as the x-correlation-id header.
+ */
+public record OutboxRecord(
+        String id,
+        String aggregateType,
+        String aggregateId,
+        String eventType,
+        String topic,
+        String correlationId,
+        String payload,
+        Instant createdAt
+) {
+}
@@ -0,0 +1,211 @@
+package rs.master.o2c.infra.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.SenderRecord;
+import rs.master.o2c.events.CorrelationHeaders;
+import rs.master.o2c.infra.kafka.KafkaRetryPolicies;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Long-lived outbox relay: drains claimed batches back-to-back while rows are pending and
+ * backs off exponentially (between min and max idle delay) once the table is empty.
+ * Cycles run strictly one after another, so there is never more than one in flight per instance.
+ *
+ * Each claimed batch goes out as one pipelined send (the producer keeps per-partition order, so
+ * events of the same aggregate stay ordered) and acked events are marked published in one UPDATE.
+ * Every row is sent to its own topic, keyed by aggregate id, with its correlation id as the
+ * x-correlation-id header.
+ *
+ * Claims are leases (see outbox.relay.lease-ttl): while a batch is in flight its leases are renewed,
+ * and leases left behind by a crashed instance expire and are reclaimed by any live one.
+ *
+ * With outbox.relay.transactional a batch is sent in one Kafka transaction and marked published only
+ * after the commit: a failed batch is aborted as a whole, and a crash between commit and mark re-sends
+ * at most that one batch.
+ */
+public final class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxStore store;
+    private final ReactiveKafkaProducerTemplate<String, byte[]> producer;
+    private final OutboxRelayProperties properties;
+    private final Counter publishedCounter;
+
+    private final String instanceId;
+
+    private volatile Duration idleDelay;
+    private volatile double lagSeconds;
+    private volatile double drainRate;
+    private volatile Disposable relay;
+
+    public OutboxRelay(
+            OutboxStore store,
+            ReactiveKafkaProducerTemplate<String, byte[]> producer,
+            OutboxRelayProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.store = store;
+        this.producer = producer;
+        this.properties = properties;
+        this.instanceId = properties.instanceId();
+        this.idleDelay = properties.minIdleDelay();
+
+        this.publishedCounter = Counter.builder("outbox.relay.published")
+                .description("Outbox events published to Kafka")
+                .tag("mode", properties.transactional() ? "transactional" : "at-least-once")
+                .register(meterRegistry);
+
+        Gauge.builder("outbox.relay.lag", this, r -> r.lagSeconds)
+                .description("Age of the oldest event in the last relayed batch")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+
+        Gauge.builder("outbox.relay.drain.rate", this, r -> r.drainRate)
+                .description("Events per second published by the last relay cycle")
+                .baseUnit("events/s")
+                .register(meterRegistry);
+    }
+
+    public void start() {
+        relay = Mono.defer(this::runCycle)
+                .flatMap(this::pauseIfDrained)
+                .repeat()
+                .doOnError(e -> log.error("outbox relay cycle failed instanceId={}", instanceId, e))
+                .retryWhen(KafkaRetryPolicies.streamRetry())
+                .subscribe();
+    }
+
+    public void stop() {
+        Disposable current = relay;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    private Mono<Integer> runCycle() {
+        long startedAt = System.nanoTime();
+
+        return store
+                .claim(properties.batchSize(), instanceId, properties.leaseTtl())
+                .flatMapMany(ignored -> store.findClaimed(instanceId))
+                .collectList()
+                .flatMap(this::publishBatchWithLeaseRenewal)
+                .map(published -> {
+                    recordCycle(published, System.nanoTime() - startedAt);
+                    return published.size();
+                });
+    }
+
+    private Mono<Integer> pauseIfDrained(int published) {
+        if (published >= properties.batchSize()) {
+            // More rows are very likely pending: go again immediately.
+            idleDelay = properties.minIdleDelay();
+            return Mono.just(published);
+        }
+
+        Duration delay = idleDelay;
+        idleDelay = published > 0
+                ? properties.minIdleDelay()
+                : min(delay.multipliedBy(2), properties.maxIdleDelay());
+
+        return Mono.delay(delay).thenReturn(published);
+    }
+
+    private void recordCycle(List<OutboxRecord> published, long elapsedNanos) {
+        if (published.isEmpty()) {
+            lagSeconds = 0;
+            drainRate = 0;
+            return;
+        }
+
+        publishedCounter.increment(published.size());
+
+        Instant oldest = published.stream()
+                .map(OutboxRecord::createdAt)
+                .filter(Objects::nonNull)
+                .min(Instant::compareTo)
+                .orElse(null);
+        lagSeconds = oldest == null ? 0 : Math.max(0, Duration.between(oldest, Instant.now()).toMillis() / 1000.0);
+        drainRate = elapsedNanos <= 0 ? 0 : published.size() * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    private Mono<List<OutboxRecord>> publishBatchWithLeaseRenewal(List<OutboxRecord> events) {
+        if (events.isEmpty()) {
+            return Mono.just(events);
+        }
+
+        Mono<List<OutboxRecord>> publish = publishBatch(events).cache();
+
+        return Flux.interval(properties.leaseRenewInterval())
+                .concatMap(tick -> store.renewLeases(instanceId))
+                .takeUntilOther(publish)
+                .then(publish);
+    }
+
+    private Mono<List<OutboxRecord>> publishBatch(List<OutboxRecord> events) {
+        if (properties.transactional()) {
+            return publishBatchTransactionally(events);
+        }
+
+        List<OutboxRecord> acked = new ArrayList<>(events.size());
+
+        return producer
+                .send(Flux.fromIterable(events).map(OutboxRelay::toSenderRecord))
+                .doOnNext(result -> acked.add(result.correlationMetadata()))
+                .then()
+                // Keep progress for whatever the broker acked before the failure; the rest stays claimed.
+                .onErrorResume(e -> markPublished(acked).then(Mono.error(e)))
+                .then(Mono.defer(() -> markPublished(acked)))
+                .thenReturn(acked);
+    }
+
+    private Mono<List<OutboxRecord>> publishBatchTransactionally(List<OutboxRecord> events) {
+        // Results complete only after the commit; on any failure the whole batch is aborted and stays claimed.
+        return producer
+                .sendTransactionally(Flux.fromIterable(events).map(OutboxRelay::toSenderRecord))
+                .then(Mono.defer(() -> markPublished(events)))
+                .thenReturn(events);
+    }
+
+    private Mono<Void> markPublished(List<OutboxRecord> events) {
+        return store.markPublished(events.stream().map(OutboxRecord::id).toList()).then();
+    }
+
+    private static SenderRecord<String, byte[], OutboxRecord> toSenderRecord(OutboxRecord event) {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(
+                event.topic(),
+                event.aggregateId(),
+                event.payload().getBytes(StandardCharsets.UTF_8)
+        );
+
+        String correlationId = event.correlationId();
+        if (correlationId != null && !correlationId.isBlank()) {
+            record.headers().add(
+                    CorrelationHeaders.X_CORRELATION_ID,
+                    correlationId.trim().getBytes(StandardCharsets.UTF_8)
+            );
+        }
+
+        return SenderRecord.create(record, event);
+    }
+
+    private static Duration min(Duration a, Duration b) {
+        return a.compareTo(b) <= 0 ? a : b;
+    }
+}
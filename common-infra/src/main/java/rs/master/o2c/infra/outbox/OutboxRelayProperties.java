@@ -0,0 +1,55 @@
+package rs.master.o2c.infra.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@ConfigurationProperties(prefix = "outbox.relay")
+public record OutboxRelayProperties(
+        String instanceId,
+        int batchSize,
+        Duration minIdleDelay,
+        Duration maxIdleDelay,
+        Duration leaseTtl,
+        boolean transactional
+) {
+    public OutboxRelayProperties {
+        if (instanceId == null || instanceId.isBlank()) {
+            // A random id would change the transactional.id on every restart and silently lose fencing
+            if (transactional) {
+                throw new IllegalArgumentException(
+                        "outbox.relay.instance-id must be set when outbox.relay.transactional is enabled");
+            }
+            // Only names lease owners otherwise; expired leases are reclaimed, so any unique value works
+            instanceId = UUID.randomUUID().toString();
+        }
+        if (batchSize <= 0) {
+            batchSize = 50;
+        }
+        if (minIdleDelay == null || minIdleDelay.isNegative() || minIdleDelay.isZero()) {
+            minIdleDelay = Duration.ofMillis(50);
+        }
+        if (maxIdleDelay == null || maxIdleDelay.compareTo(minIdleDelay) < 0) {
+            maxIdleDelay = Duration.ofSeconds(2);
+        }
+        if (leaseTtl == null || leaseTtl.isNegative() || leaseTtl.isZero()) {
+            leaseTtl = Duration.ofSeconds(60);
+        }
+    }
+
+    /**
+     * Claims are renewed well before they expire so a slow batch is never reclaimed mid-send.
+     */
+    public Duration leaseRenewInterval() {
+        return leaseTtl.dividedBy(3);
+    }
+
+    /**
+     * Stable per instance so a restarted relay fences off its previous, possibly still open, transaction.
+     * Only meaningful with a configured instance id, which the constructor enforces in transactional mode.
+     */
+    public String transactionalId(String applicationName) {
+        return applicationName + "-outbox-relay-" + instanceId;
+    }
+}
@@ -0,0 +1,37 @@
+package rs.master.o2c.infra.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import rs.master.o2c.infra.retention.ChunkedPurgeJob;
+
+/**
+ * Deletes published outbox rows older than outbox.retention.retention, oldest first along the
+ * published_at index, so the relay's claim query is never starved.
+ */
+public final class OutboxRetentionJob {
+
+    private final ChunkedPurgeJob job;
+
+    private volatile Disposable running;
+
+    public OutboxRetentionJob(OutboxStore store, OutboxRetentionProperties properties, MeterRegistry meterRegistry) {
+        this.job = new ChunkedPurgeJob(
+                "outbox.retention",
+                properties.toPurgeSettings(),
+                store::deletePublishedBefore,
+                null,
+                meterRegistry
+        );
+    }
+
+    public void start() {
+        running = job.start();
+    }
+
+    public void stop() {
+        Disposable current = running;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+}
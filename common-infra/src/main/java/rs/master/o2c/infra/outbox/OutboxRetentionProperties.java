@@ -0,0 +1,19 @@
+package rs.master.o2c.infra.outbox;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import rs.master.o2c.infra.retention.PurgeSettings;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "outbox.retention")
+public record OutboxRetentionProperties(
+        Boolean enabled,
+        Duration retention,
+        Duration interval,
+        int chunkSize,
+        Duration chunkDelay
+) {
+    public PurgeSettings toPurgeSettings() {
+        return new PurgeSettings(enabled, retention, interval, chunkSize, chunkDelay);
+    }
+}
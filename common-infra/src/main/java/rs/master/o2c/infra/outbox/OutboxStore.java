@@ -0,0 +1,190 @@
+package rs.master.o2c.infra.outbox;
+
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Data access for the outbox_event table shared by every service with a transactional outbox:
+ * staging rows, the lease-based claim used by {@link OutboxRelay}, and the retention delete.
+ */
+public class OutboxStore {
+
+    /**
+     * Single-statement claim: MySQL applies ORDER BY/LIMIT to the UPDATE itself, so selecting and
+     * locking the batch happens atomically and two instances can never claim the same row.
+     * A claim is a lease: rows whose locked_at is older than the lease TTL are claimable again,
+     * so events held by a dead instance are picked up by the others.
+     */
+    private static final String SQL_CLAIM_UNPUBLISHED = """
+            update outbox_event
+            set locked_at = :lockedAt,
+                locked_by = :lockedBy
+            where published_at is null
+              and (locked_at is null or locked_at < :expiredBefore)
+            order by created_at
+            limit :limit
+            """;
+
+    private static final String SQL_RENEW_LEASES = """
+            update outbox_event
+            set locked_at = :lockedAt
+            where published_at is null
+              and locked_by = :lockedBy
+            """;
+
+    private static final String SQL_FIND_CLAIMED = """
+            select id, aggregate_type, aggregate_id, event_type, topic, correlation_id, payload, created_at
+            from outbox_event
+            where locked_by = :lockedBy
+              and published_at is null
+            order by created_at
+            """;
+
+    private static final String SQL_MARK_PUBLISHED = """
+            update outbox_event
+            set published_at = :publishedAt
+            where id in (:ids)
+              and published_at is null
+            """;
+
+    /**
+     * Deletes the oldest published rows first; the range scan on idx_outbox_unpublished_created
+     * (published_at leading) makes every chunk continue where the previous one stopped.
+     */
+    private static final String SQL_DELETE_PUBLISHED_BEFORE = """
+            delete from outbox_event
+            where published_at < :cutoff
+            order by published_at
+            limit :limit
+            """;
+
+    private static final String SQL_INSERT_PREFIX = """
+            insert into outbox_event
+                (id, aggregate_type, aggregate_id, event_type, topic, correlation_id, payload, created_at)
+            values
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    public OutboxStore(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Stages all given events with a single multi-row insert; joins the caller's transaction, if any.
+     */
+    public Mono<Integer> insertAll(List<OutboxRecord> events) {
+        if (events.isEmpty()) {
+            return Mono.just(0);
+        }
+
+        StringBuilder sql = new StringBuilder(SQL_INSERT_PREFIX);
+        for (int i = 0; i < events.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+                    .append("(:id").append(i)
+                    .append(", :aggregateType").append(i)
+                    .append(", :aggregateId").append(i)
+                    .append(", :eventType").append(i)
+                    .append(", :topic").append(i)
+                    .append(", :correlationId").append(i)
+                    .append(", :payload").append(i)
+                    .append(", :createdAt").append(i)
+                    .append(")");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+
+        for (int i = 0; i < events.size(); i++) {
+            OutboxRecord event = events.get(i);
+            spec = spec
+                    .bind("id" + i, event.id())
+                    .bind("aggregateType" + i, event.aggregateType())
+                    .bind("aggregateId" + i, event.aggregateId())
+                    .bind("eventType" + i, event.eventType())
+                    .bind("topic" + i, event.topic())
+                    .bind("payload" + i, event.payload())
+                    .bind("createdAt" + i, event.createdAt());
+            spec = event.correlationId() == null
+                    ? spec.bindNull("correlationId" + i, String.class)
+                    : spec.bind("correlationId" + i, event.correlationId());
+        }
+
+        return spec.fetch().rowsUpdated().map(Long::intValue);
+    }
+
+    public Mono<Integer> claim(int limit, String lockedBy, Duration leaseTtl) {
+        Instant now = Instant.now();
+
+        return databaseClient
+                .sql(SQL_CLAIM_UNPUBLISHED)
+                .bind("lockedAt", now)
+                .bind("lockedBy", lockedBy)
+                .bind("expiredBefore", now.minus(leaseTtl))
+                .bind("limit", limit)
+                .fetch()
+                .rowsUpdated()
+                .map(Long::intValue);
+    }
+
+    public Mono<Integer> renewLeases(String lockedBy) {
+        return databaseClient
+                .sql(SQL_RENEW_LEASES)
+                .bind("lockedAt", Instant.now())
+                .bind("lockedBy", lockedBy)
+                .fetch()
+                .rowsUpdated()
+                .map(Long::intValue);
+    }
+
+    public Flux<OutboxRecord> findClaimed(String lockedBy) {
+        return databaseClient
+                .sql(SQL_FIND_CLAIMED)
+                .bind("lockedBy", lockedBy)
+                .map((row, metadata) -> toRecord(row))
+                .all();
+    }
+
+    public Mono<Integer> markPublished(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return Mono.just(0);
+        }
+
+        return databaseClient
+                .sql(SQL_MARK_PUBLISHED)
+                .bind("publishedAt", Instant.now())
+                .bind("ids", ids)
+                .fetch()
+                .rowsUpdated()
+                .map(Long::intValue);
+    }
+
+    public Mono<Integer> deletePublishedBefore(Instant cutoff, int limit) {
+        return databaseClient
+                .sql(SQL_DELETE_PUBLISHED_BEFORE)
+                .bind("cutoff", cutoff)
+                .bind("limit", limit)
+                .fetch()
+                .rowsUpdated()
+                .map(Long::intValue);
+    }
+
+    private static OutboxRecord toRecord(Row row) {
+        return new OutboxRecord(
+                row.get("id", String.class),
+                row.get("aggregate_type", String.class),
+                row.get("aggregate_id", String.class),
+                row.get("event_type", String.class),
+                row.get("topic", String.class),
+                row.get("correlation_id", String.class),
+                row.get("payload", String.class),
+                row.get("created_at", Instant.class)
+        );
+    }
+}
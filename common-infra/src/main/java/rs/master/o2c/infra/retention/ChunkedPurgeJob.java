@@ -0,0 +1,124 @@
+package rs.master.o2c.infra.retention;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import rs.master.o2c.infra.kafka.KafkaRetryPolicies;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Periodically deletes rows older than the retention window, a bounded chunk per statement with a
+ * pause between chunks, so no delete holds locks for long. Runs never overlap.
+ *
+ * {@code deleteChunk(cutoff, limit)} must delete at most {@code limit} rows older than {@code cutoff},
+ * oldest first, and emit how many it deleted; a short chunk ends the run.
+ *
+ * Metrics are registered under the given prefix: {@code .purged}, {@code .duration} and, when a
+ * row-count query is supplied, {@code .table.rows} refreshed after every run.
+ */
+public final class ChunkedPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedPurgeJob.class);
+
+    private final String name;
+    private final PurgeSettings settings;
+    private final BiFunction<Instant, Integer, Mono<Integer>> deleteChunk;
+    private final Supplier<Mono<Long>> rowCount;
+
+    private final Counter purgedCounter;
+    private final Timer runTimer;
+
+    private volatile double tableRows;
+
+    public ChunkedPurgeJob(
+            String name,
+            PurgeSettings settings,
+            BiFunction<Instant, Integer, Mono<Integer>> deleteChunk,
+            Supplier<Mono<Long>> rowCount,
+            MeterRegistry meterRegistry
+    ) {
+        this.name = name;
+        this.settings = settings;
+        this.deleteChunk = deleteChunk;
+        this.rowCount = rowCount;
+
+        this.purgedCounter = Counter.builder(name + ".purged")
+                .description("Rows deleted by the retention job")
+                .register(meterRegistry);
+
+        this.runTimer = Timer.builder(name + ".duration")
+                .description("Time spent per retention run")
+                .register(meterRegistry);
+
+        if (rowCount != null) {
+            Gauge.builder(name + ".table.rows", this, job -> job.tableRows)
+                    .description("Approximate row count of the purged table after the last run")
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Starts the periodic purge, or returns an already disposed handle when the job is disabled.
+     */
+    public Disposable start() {
+        if (!settings.enabled()) {
+            log.info("{} disabled", name);
+            return Disposables.disposed();
+        }
+
+        return Flux.interval(settings.interval(), settings.interval())
+                .onBackpressureDrop()
+                .concatMap(tick -> purge(), 1)
+                .doOnError(e -> log.error("{} run failed", name, e))
+                .retryWhen(KafkaRetryPolicies.streamRetry())
+                .subscribe();
+    }
+
+    public Mono<Long> purge() {
+        return Mono.defer(() -> {
+            Instant cutoff = Instant.now().minus(settings.retention());
+            int chunkSize = settings.chunkSize();
+            long startedAt = System.nanoTime();
+
+            return chunk(cutoff, chunkSize)
+                    .expand(deleted -> deleted < chunkSize
+                            ? Mono.empty()
+                            : Mono.delay(settings.chunkDelay()).then(chunk(cutoff, chunkSize)))
+                    .reduce(0L, Long::sum)
+                    .doOnNext(total -> {
+                        runTimer.record(Duration.ofNanos(System.nanoTime() - startedAt));
+                        purgedCounter.increment(total);
+                        if (total > 0) {
+                            log.info("{} purged rows={} olderThan={}", name, total, cutoff);
+                        }
+                    })
+                    .flatMap(total -> refreshRowCount().thenReturn(total));
+        });
+    }
+
+    private Mono<Long> chunk(Instant cutoff, int chunkSize) {
+        return deleteChunk
+                .apply(cutoff, chunkSize)
+                .map(Integer::longValue);
+    }
+
+    private Mono<Void> refreshRowCount() {
+        if (rowCount == null) {
+            return Mono.empty();
+        }
+        return rowCount.get()
+                .doOnNext(rows -> tableRows = rows)
+                .then();
+    }
+}
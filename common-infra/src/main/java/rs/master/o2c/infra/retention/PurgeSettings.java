@@ -0,0 +1,32 @@
+package rs.master.o2c.infra.retention;
+
+import java.time.Duration;
+
+/**
+ * Settings of a {@link ChunkedPurgeJob}. Null or non-positive values fall back to the defaults.
+ */
+public record PurgeSettings(
+        Boolean enabled,
+        Duration retention,
+        Duration interval,
+        int chunkSize,
+        Duration chunkDelay
+) {
+    public PurgeSettings {
+        if (enabled == null) {
+            enabled = true;
+        }
+        if (retention == null || retention.isNegative()) {
+            retention = Duration.ofDays(7);
+        }
+        if (interval == null || interval.isNegative() || interval.isZero()) {
+            interval = Duration.ofMinutes(5);
+        }
+        if (chunkSize <= 0) {
+            chunkSize = 500;
+        }
+        if (chunkDelay == null || chunkDelay.isNegative()) {
+            chunkDelay = Duration.ofMillis(100);
+        }
+    }
+}
@@ -1,4 +1,4 @@
-package rs.master.o2c.order.config;
+package rs.master.o2c.infra.tx;
 
 import io.r2dbc.spi.ConnectionFactory;
 import org.springframework.context.annotation.Bean;
@@ -6,8 +6,12 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.r2dbc.connection.R2dbcTransactionManager;
 import org.springframework.transaction.reactive.TransactionalOperator;
 
-@Configuration
-public class TxConfig {
+/**
+ * R2DBC transaction manager and the {@link TransactionalOperator} that handlers and the inbox use to
+ * commit a unit of work atomically.
+ */
+@Configuration(proxyBeanMethods = false)
+public class TransactionConfiguration {
 
     @Bean
     public R2dbcTransactionManager r2dbcTransactionManager(ConnectionFactory connectionFactory) {
@@ -18,4 +22,4 @@ public class TxConfig {
     public TransactionalOperator transactionalOperator(R2dbcTransactionManager tm) {
         return TransactionalOperator.create(tm);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,128 @@
+package rs.master.o2c.infra.inbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InboxDeduplicatorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Set<String> store = new HashSet<>();
+    private final AtomicInteger claims = new AtomicInteger();
+    private final AtomicInteger handled = new AtomicInteger();
+
+    @Test
+    void once_shouldAnswerWarmDuplicateFromCache() {
+        InboxDeduplicator dedup = deduplicator(10);
+
+        StepVerifier.create(dedup.once("m-1", this::handle)).verifyComplete();
+        StepVerifier.create(dedup.once("m-1", this::handle)).verifyComplete();
+
+        assertEquals(1, handled.get());
+        assertEquals(1, claims.get());
+        assertEquals(0.5, meterRegistry.get("inbox.dedup.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    void once_shouldFallBackToStoreForEvictedIds() {
+        InboxDeduplicator dedup = deduplicator(1);
+
+        StepVerifier.create(dedup.once("m-1", this::handle)).verifyComplete();
+        StepVerifier.create(dedup.once("m-2", this::handle)).verifyComplete();
+        StepVerifier.create(dedup.once("m-1", this::handle)).verifyComplete();
+
+        assertEquals(2, handled.get());
+        assertEquals(3, claims.get());
+        assertEquals(1.0, meterRegistry.get("inbox.dedup.store.duplicates").counter().count());
+    }
+
+    @Test
+    void once_shouldNotRememberIdWhenHandlerFails() {
+        InboxDeduplicator dedup = deduplicator(10);
+
+        StepVerifier.create(dedup.once("m-1", () -> Mono.error(new IllegalStateException("boom"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        store.clear();
+        StepVerifier.create(dedup.once("m-1", this::handle)).verifyComplete();
+
+        assertEquals(1, handled.get());
+    }
+
+    @Test
+    void once_shouldNotRememberIdWhenUnitOfWorkFails() {
+        InboxDeduplicator dedup = new InboxDeduplicator(
+                "test",
+                10,
+                id -> Mono.fromCallable(() -> store.add(id)),
+                work -> work.then(Mono.error(new IllegalStateException("commit failed"))),
+                meterRegistry
+        );
+
+        StepVerifier.create(dedup.once("m-1", this::handle))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        // The rolled-back inbox row is gone, so the redelivery must reach the store again.
+        store.clear();
+        StepVerifier.create(dedup.once("m-1", this::handle))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertEquals(2, handled.get());
+    }
+
+    @Test
+    void onceAll_shouldHandleOnlyIdsThatAreNeitherCachedNorStored() {
+        InboxDeduplicator dedup = deduplicator(10);
+        StepVerifier.create(dedup.once("m-1", this::handle)).verifyComplete();
+        store.add("m-2");
+
+        List<Set<String>> handledBatches = new ArrayList<>();
+
+        StepVerifier.create(dedup.onceAll(
+                        List.of("m-1", "m-2", "m-3", "m-3"),
+                        ids -> Mono.fromCallable(() -> ids.stream().filter(store::add).collect(Collectors.toSet())),
+                        newIds -> Mono.fromRunnable(() -> handledBatches.add(newIds))
+                ))
+                .verifyComplete();
+
+        assertEquals(List.of(Set.of("m-3")), handledBatches);
+        assertEquals(1.0, meterRegistry.get("inbox.dedup.store.duplicates").counter().count());
+
+        // Everything in the batch is now cached.
+        StepVerifier.create(dedup.onceAll(
+                        List.of("m-2", "m-3"),
+                        ids -> Mono.error(new IllegalStateException("should not claim")),
+                        newIds -> Mono.error(new IllegalStateException("should not handle"))
+                ))
+                .verifyComplete();
+    }
+
+    private InboxDeduplicator deduplicator(int capacity) {
+        return new InboxDeduplicator(
+                "test",
+                capacity,
+                id -> Mono.fromCallable(() -> {
+                    claims.incrementAndGet();
+                    return store.add(id);
+                }),
+                meterRegistry
+        );
+    }
+
+    private Mono<Void> handle() {
+        return Mono.fromRunnable(handled::incrementAndGet);
+    }
+}
@@ -7,6 +7,7 @@ import reactor.kafka.receiver.ReceiverRecord;
 import rs.master.o2c.events.CorrelationHeaders;
 
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -69,4 +70,71 @@ class DlqRecordSupportTest {
         assertNull(out.headers().lastHeader(CorrelationHeaders.X_CORRELATION_ID));
         assertNotNull(out.headers().lastHeader(DlqRecordSupport.HDR_ORIGINAL_TOPIC));
     }
+
+    @Test
+    void enrich_shouldKeepOriginHeadersAndCountAttemptsAcrossRetryTiers() {
+        RecordHeaders inHeaders = new RecordHeaders();
+        inHeaders.add(DlqRecordSupport.HDR_ORIGINAL_TOPIC, "source.topic".getBytes(StandardCharsets.UTF_8));
+        inHeaders.add(DlqRecordSupport.HDR_ORIGINAL_PARTITION, "7".getBytes(StandardCharsets.UTF_8));
+        inHeaders.add(DlqRecordSupport.HDR_ORIGINAL_OFFSET, "123".getBytes(StandardCharsets.UTF_8));
+        inHeaders.add(DlqRecordSupport.HDR_ATTEMPT, "1".getBytes(StandardCharsets.UTF_8));
+
+        @SuppressWarnings("unchecked")
+        ReceiverRecord<String, String> in = (ReceiverRecord<String, String>) mock(ReceiverRecord.class);
+        when(in.headers()).thenReturn(inHeaders);
+        when(in.topic()).thenReturn("source.topic.retry.5s");
+        when(in.partition()).thenReturn(0);
+        when(in.offset()).thenReturn(9L);
+
+        ProducerRecord<String, String> out = new ProducerRecord<>("source.topic.retry.1m", "k", "v");
+
+        DlqRecordSupport.enrichRetry(out, in, new RuntimeException("boom"), Instant.ofEpochMilli(1_000));
+
+        assertEquals("source.topic", header(out, DlqRecordSupport.HDR_ORIGINAL_TOPIC));
+        assertEquals("7", header(out, DlqRecordSupport.HDR_ORIGINAL_PARTITION));
+        assertEquals("123", header(out, DlqRecordSupport.HDR_ORIGINAL_OFFSET));
+        assertEquals("2", header(out, DlqRecordSupport.HDR_ATTEMPT));
+        assertEquals("1000", header(out, DlqRecordSupport.HDR_RETRY_NOT_BEFORE));
+    }
+
+    @Test
+    void enrich_shouldCarryOverAllProducerHeadersAndRewritePerHopOnes() {
+        RecordHeaders inHeaders = new RecordHeaders();
+        inHeaders.add("traceparent", "00-abc-def-01".getBytes(StandardCharsets.UTF_8));
+        inHeaders.add(DlqRecordSupport.HDR_ORIGINAL_TOPIC, "source.topic".getBytes(StandardCharsets.UTF_8));
+        inHeaders.add(DlqRecordSupport.HDR_ATTEMPT, "1".getBytes(StandardCharsets.UTF_8));
+        inHeaders.add(DlqRecordSupport.HDR_ERROR_CLASS, "java.lang.Exception".getBytes(StandardCharsets.UTF_8));
+        inHeaders.add(DlqRecordSupport.HDR_RETRY_NOT_BEFORE, "500".getBytes(StandardCharsets.UTF_8));
+
+        @SuppressWarnings("unchecked")
+        ReceiverRecord<String, String> in = (ReceiverRecord<String, String>) mock(ReceiverRecord.class);
+        when(in.headers()).thenReturn(inHeaders);
+        when(in.topic()).thenReturn("source.topic.group.retry.5s");
+
+        ProducerRecord<String, String> out = new ProducerRecord<>("source.topic.group.retry.1m", "k", "v");
+
+        DlqRecordSupport.enrichRetry(out, in, new IllegalStateException("boom"), Instant.ofEpochMilli(1_000));
+
+        assertEquals("00-abc-def-01", header(out, "traceparent"));
+        assertEquals("source.topic", header(out, DlqRecordSupport.HDR_ORIGINAL_TOPIC));
+        assertEquals(1, count(out, DlqRecordSupport.HDR_ORIGINAL_TOPIC));
+        assertEquals("2", header(out, DlqRecordSupport.HDR_ATTEMPT));
+        assertEquals(1, count(out, DlqRecordSupport.HDR_ATTEMPT));
+        assertEquals(IllegalStateException.class.getName(), header(out, DlqRecordSupport.HDR_ERROR_CLASS));
+        assertEquals(1, count(out, DlqRecordSupport.HDR_ERROR_CLASS));
+        assertEquals("1000", header(out, DlqRecordSupport.HDR_RETRY_NOT_BEFORE));
+        assertEquals(1, count(out, DlqRecordSupport.HDR_RETRY_NOT_BEFORE));
+    }
+
+    private static int count(ProducerRecord<String, String> out, String name) {
+        int count = 0;
+        for (var ignored : out.headers().headers(name)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static String header(ProducerRecord<String, String> out, String name) {
+        return new String(out.headers().lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
 }
@@ -31,6 +31,25 @@ class KafkaRetryPoliciesTest {
         assertEquals(9, attempts.get());
     }
 
+    @Test
+    void inlineRetry_shouldRetryExactly2Times() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        Mono<Void> op = Mono.defer(() -> {
+                    attempts.incrementAndGet();
+                    return Mono.error(new RuntimeException("boom"));
+                })
+                .retryWhen(KafkaRetryPolicies.inlineRetry())
+                .then();
+
+        StepVerifier.withVirtualTime(() -> op)
+                .thenAwait(Duration.ofSeconds(5))
+                .expectError(RuntimeException.class)
+                .verify();
+
+        assertEquals(3, attempts.get());
+    }
+
     @Test
     void dlqRetry_shouldRetryExactly8Times() {
         AtomicInteger attempts = new AtomicInteger();
@@ -0,0 +1,298 @@
+package rs.master.o2c.infra.kafka;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.ReceiverOffset;
+import reactor.kafka.receiver.ReceiverRecord;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveConsumerEngineTest {
+
+    private static final Duration HANDLE_TIME = Duration.ofMillis(100);
+    private static final int RECORDS_PER_PARTITION = 5;
+
+    private final List<String> acks = Collections.synchronizedList(new ArrayList<>());
+    private final List<String> deadLettered = Collections.synchronizedList(new ArrayList<>());
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void partitionMode_shouldScaleWithPartitionCount() {
+        // With enough lanes every partition is drained in the time one partition takes.
+        for (int partitions : new int[]{1, 2, 4}) {
+            assertDrainTime(engine(ConcurrencyMode.PARTITION, 4), partitions, HANDLE_TIME.multipliedBy(RECORDS_PER_PARTITION));
+        }
+    }
+
+    @Test
+    void serialMode_shouldHandleOneRecordAtATime() {
+        assertDrainTime(engine(ConcurrencyMode.SERIAL, 4), 4, HANDLE_TIME.multipliedBy(4L * RECORDS_PER_PARTITION));
+    }
+
+    @Test
+    void partitionMode_shouldAcknowledgeInOffsetOrderPerPartition() {
+        StepVerifier.withVirtualTime(() -> engine(ConcurrencyMode.PARTITION, 2).consume(records(3)))
+                .thenAwait(Duration.ofMinutes(1))
+                .verifyComplete();
+
+        for (int partition = 0; partition < 3; partition++) {
+            assertEquals(expectedAcks(partition), acksOf(partition));
+        }
+    }
+
+    @Test
+    void keyMode_shouldRunKeysOfOnePartitionInParallel() {
+        // All records share one partition but carry distinct keys.
+        List<ReceiverRecord<String, String>> records = new ArrayList<>();
+        for (int offset = 0; offset < 4; offset++) {
+            records.add(record(0, offset, "order-" + offset));
+        }
+
+        StepVerifier.withVirtualTime(() -> engine(ConcurrencyMode.KEY, 4).consume(Flux.fromIterable(records)))
+                .expectSubscription()
+                .expectNoEvent(HANDLE_TIME.minusMillis(1))
+                .thenAwait(Duration.ofMillis(1))
+                .verifyComplete();
+
+        assertEquals(4, acks.size());
+    }
+
+    @Test
+    void failingRecord_shouldBeDeadLetteredAndAcknowledged() {
+        ReactiveConsumerEngine<String, String> engine = engine(
+                ConcurrencyMode.SERIAL,
+                1,
+                record -> Mono.error(new IllegalStateException("boom"))
+        );
+
+        StepVerifier.withVirtualTime(() -> engine.consume(Flux.just(record(0, 0, "order-0"))))
+                .thenAwait(Duration.ofMinutes(5))
+                .verifyComplete();
+
+        assertEquals(List.of("0:0"), deadLettered);
+        assertEquals(List.of("0:0"), acks);
+        assertEquals(1.0, meterRegistry.get("kafka.consumer.records").tag("outcome", "dead-lettered").counter().count());
+    }
+
+    @Test
+    void failingRecord_withRetryTopics_shouldBeForwardedToFirstTier() {
+        ReactiveKafkaProducerTemplate<String, String> producer = producer();
+        ReactiveConsumerEngine<String, String> engine = retryingEngine(producer);
+
+        StepVerifier.withVirtualTime(() -> engine.consume(Flux.just(record(0, 0, "order-0"))))
+                .thenAwait(Duration.ofMinutes(1))
+                .verifyComplete();
+
+        ProducerRecord<String, String> forwarded = sent(producer);
+        assertEquals("test.events.v1.test-group.retry.5s", forwarded.topic());
+        assertEquals("order-0", forwarded.key());
+        assertEquals("1", header(forwarded, DlqRecordSupport.HDR_ATTEMPT));
+        assertEquals(List.of("0:0"), acks);
+        assertEquals(List.of(), deadLettered);
+    }
+
+    @Test
+    void failingRecord_onLastTier_shouldBeDeadLettered() {
+        ReactiveKafkaProducerTemplate<String, String> producer = producer();
+        ReactiveConsumerEngine<String, String> engine = retryingEngine(producer);
+
+        RecordHeaders headers = new RecordHeaders();
+        headers.add(DlqRecordSupport.HDR_ORIGINAL_TOPIC, "test.events.v1".getBytes(StandardCharsets.UTF_8));
+        headers.add(DlqRecordSupport.HDR_ATTEMPT, "2".getBytes(StandardCharsets.UTF_8));
+        ReceiverRecord<String, String> retried = record("test.events.v1.test-group.retry.1m", 0, 0, "order-0", headers);
+
+        StepVerifier.withVirtualTime(() -> engine.consumeRetries(Flux.just(retried)))
+                .thenAwait(Duration.ofMinutes(1))
+                .verifyComplete();
+
+        assertEquals(List.of("0:0"), deadLettered);
+        assertEquals(List.of("0:0"), acks);
+    }
+
+    @Test
+    void retryRecord_shouldWaitUntilDue() {
+        ReactiveConsumerEngine<String, String> engine = engine(ConcurrencyMode.PARTITION, 4, record -> Mono.empty());
+
+        StepVerifier.withVirtualTime(() -> {
+                    RecordHeaders headers = new RecordHeaders();
+                    headers.add(
+                            DlqRecordSupport.HDR_RETRY_NOT_BEFORE,
+                            String.valueOf(System.currentTimeMillis() + 5_000).getBytes(StandardCharsets.UTF_8)
+                    );
+                    return engine.consumeRetries(Flux.just(record("test.events.v1.test-group.retry.5s", 0, 0, "order-0", headers)));
+                })
+                .expectSubscription()
+                .thenAwait(Duration.ofSeconds(4))
+                .then(() -> assertEquals(List.of(), acks))
+                .thenAwait(Duration.ofSeconds(2))
+                .verifyComplete();
+
+        assertEquals(List.of("0:0"), acks);
+    }
+
+    @Test
+    void batchMode_shouldHandOverLaneRecordsAsOneBatch() {
+        List<List<Long>> batches = Collections.synchronizedList(new ArrayList<>());
+        ReactiveConsumerEngine<String, String> engine = batchingEngine(batch -> Mono.fromRunnable(() ->
+                batches.add(batch.stream().map(ReceiverRecord::offset).toList())));
+
+        StepVerifier.withVirtualTime(() -> engine.consume(records(1)))
+                .thenAwait(Duration.ofSeconds(1))
+                .verifyComplete();
+
+        assertEquals(List.of(List.of(0L, 1L, 2L, 3L, 4L)), batches);
+        assertEquals(expectedAcks(0), acksOf(0));
+    }
+
+    @Test
+    void batchMode_shouldFallBackToSingleRecordsWhenBatchFails() {
+        AtomicInteger singles = new AtomicInteger();
+        ReactiveConsumerEngine<String, String> engine = new ReactiveConsumerEngine<>(
+                "test",
+                record -> Mono.fromRunnable(singles::incrementAndGet),
+                batch -> Mono.error(new IllegalStateException("boom")),
+                null,
+                (record, e) -> Mono.empty(),
+                new ConsumerEngineOptions(ConcurrencyMode.PARTITION, 4, 0, null, 0, List.of(), 10, null),
+                meterRegistry
+        );
+
+        StepVerifier.withVirtualTime(() -> engine.consume(records(1)))
+                .thenAwait(Duration.ofSeconds(1))
+                .verifyComplete();
+
+        assertEquals(RECORDS_PER_PARTITION, singles.get());
+        assertEquals(expectedAcks(0), acksOf(0));
+    }
+
+    private ReactiveConsumerEngine<String, String> batchingEngine(
+            Function<List<ReceiverRecord<String, String>>, Mono<Void>> batchHandler
+    ) {
+        return new ReactiveConsumerEngine<>(
+                "test",
+                record -> Mono.error(new IllegalStateException("single path not expected")),
+                batchHandler,
+                null,
+                (record, e) -> Mono.empty(),
+                new ConsumerEngineOptions(ConcurrencyMode.PARTITION, 4, 0, null, 0, List.of(), 10, null),
+                meterRegistry
+        );
+    }
+
+    private ReactiveConsumerEngine<String, String> retryingEngine(ReactiveKafkaProducerTemplate<String, String> producer) {
+        return new ReactiveConsumerEngine<>(
+                "test",
+                record -> Mono.error(new IllegalStateException("boom")),
+                new RetryTopicPublisher<>(producer, "test-group"),
+                (record, e) -> Mono.fromRunnable(() -> deadLettered.add(record.partition() + ":" + record.offset())),
+                new ConsumerEngineOptions(ConcurrencyMode.PARTITION, 4, 0, null, 0, List.of(Duration.ofSeconds(5), Duration.ofMinutes(1)), 0, null),
+                meterRegistry
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ReactiveKafkaProducerTemplate<String, String> producer() {
+        ReactiveKafkaProducerTemplate<String, String> producer = mock(ReactiveKafkaProducerTemplate.class);
+        when(producer.send(any(ProducerRecord.class))).thenReturn(Mono.empty());
+        return producer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ProducerRecord<String, String> sent(ReactiveKafkaProducerTemplate<String, String> producer) {
+        ArgumentCaptor<ProducerRecord<String, String>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(producer).send(captor.capture());
+        return captor.getValue();
+    }
+
+    private static String header(ProducerRecord<?, ?> record, String name) {
+        return new String(record.headers().lastHeader(name).value(), StandardCharsets.UTF_8);
+    }
+
+    private void assertDrainTime(ReactiveConsumerEngine<String, String> engine, int partitions, Duration expected) {
+        StepVerifier.withVirtualTime(() -> engine.consume(records(partitions)))
+                .expectSubscription()
+                .expectNoEvent(expected.minusMillis(1))
+                .thenAwait(Duration.ofMillis(1))
+                .verifyComplete();
+    }
+
+    private ReactiveConsumerEngine<String, String> engine(ConcurrencyMode mode, int concurrency) {
+        return engine(mode, concurrency, record -> Mono.delay(HANDLE_TIME).then());
+    }
+
+    private ReactiveConsumerEngine<String, String> engine(
+            ConcurrencyMode mode,
+            int concurrency,
+            Function<ReceiverRecord<String, String>, Mono<Void>> handler
+    ) {
+        return new ReactiveConsumerEngine<>(
+                "test",
+                handler,
+                (record, e) -> Mono.fromRunnable(() -> deadLettered.add(record.partition() + ":" + record.offset())),
+                new ConsumerEngineOptions(mode, concurrency, 0, null, 0, null, 0, null),
+                meterRegistry
+        );
+    }
+
+    private Flux<ReceiverRecord<String, String>> records(int partitions) {
+        List<ReceiverRecord<String, String>> records = new ArrayList<>();
+        for (int offset = 0; offset < RECORDS_PER_PARTITION; offset++) {
+            for (int partition = 0; partition < partitions; partition++) {
+                records.add(record(partition, offset, "order-" + partition));
+            }
+        }
+        return Flux.fromIterable(records);
+    }
+
+    private ReceiverRecord<String, String> record(int partition, long offset, String key) {
+        return record("test.events.v1", partition, offset, key, new RecordHeaders());
+    }
+
+    private ReceiverRecord<String, String> record(String topic, int partition, long offset, String key, RecordHeaders headers) {
+        ReceiverOffset receiverOffset = mock(ReceiverOffset.class);
+        doAnswer(inv -> acks.add(partition + ":" + offset)).when(receiverOffset).acknowledge();
+
+        ConsumerRecord<String, String> consumerRecord = new ConsumerRecord<>(
+                topic, partition, offset, 0L, TimestampType.CREATE_TIME,
+                0, 0, key, "{}", headers, Optional.empty()
+        );
+
+        return new ReceiverRecord<>(consumerRecord, receiverOffset);
+    }
+
+    private List<String> acksOf(int partition) {
+        String prefix = partition + ":";
+        return acks.stream().filter(a -> a.startsWith(prefix)).toList();
+    }
+
+    private static List<String> expectedAcks(int partition) {
+        List<String> expected = new ArrayList<>();
+        for (int offset = 0; offset < RECORDS_PER_PARTITION; offset++) {
+            expected.add(partition + ":" + offset);
+        }
+        return expected;
+    }
+}
@@ -0,0 +1,53 @@
+package rs.master.o2c.infra.kafka;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryTopicsTest {
+
+    @Test
+    void name_shouldBeScopedToTheConsumerGroup() {
+        assertEquals("checkout.events.v1.order-service.retry.5s",
+                RetryTopics.name("checkout.events.v1", "order-service", Duration.ofSeconds(5)));
+        assertNotEquals(
+                RetryTopics.name("checkout.events.v1", "order-service", Duration.ofMinutes(1)),
+                RetryTopics.name("checkout.events.v1", "timeline-service", Duration.ofMinutes(1))
+        );
+    }
+
+    @Test
+    void name_shouldLabelDelaysInTheLargestWholeUnit() {
+        assertEquals("t.g.retry.1m", RetryTopics.name("t", "g", Duration.ofSeconds(60)));
+        assertEquals("t.g.retry.2h", RetryTopics.name("t", "g", Duration.ofHours(2)));
+        assertEquals("t.g.retry.1500ms", RetryTopics.name("t", "g", Duration.ofMillis(1500)));
+    }
+
+    @Test
+    void retryTopics_shouldListOneTopicPerTier() {
+        ConsumerEngineOptions options =
+                new ConsumerEngineOptions(null, 0, 0, null, 0, List.of(Duration.ofSeconds(5), Duration.ofMinutes(1)), 0, null);
+
+        assertEquals(
+                List.of("source.v1.group.retry.5s", "source.v1.group.retry.1m"),
+                options.retryTopics("source.v1", "group")
+        );
+    }
+
+    @Test
+    void retryTopics_shouldBeAbsentWithoutTiers() {
+        ConsumerEngineOptions options = new ConsumerEngineOptions(null, 0, 0, null, 0, List.of(), 0, null);
+
+        assertFalse(options.hasRetryTopics());
+        assertTrue(options.retryTopics("source.v1", "group").isEmpty());
+        assertTrue(ConsumerEngineOptions.defaults().hasRetryTopics());
+    }
+
+    @Test
+    void name_shouldRequireGroupId() {
+        assertThrows(NullPointerException.class, () -> RetryTopics.name("t", null, Duration.ofSeconds(5)));
+    }
+}
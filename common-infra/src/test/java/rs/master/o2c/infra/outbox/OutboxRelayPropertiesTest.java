@@ -0,0 +1,32 @@
+package rs.master.o2c.infra.outbox;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OutboxRelayPropertiesTest {
+
+    @Test
+    void transactionalModeRequiresAStableInstanceId() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new OutboxRelayProperties(" ", 0, null, null, null, true));
+        assertThrows(IllegalArgumentException.class,
+                () -> new OutboxRelayProperties(null, 0, null, null, null, true));
+    }
+
+    @Test
+    void transactionalIdIsDerivedFromTheConfiguredInstanceId() {
+        OutboxRelayProperties properties = new OutboxRelayProperties("pod-1", 0, null, null, null, true);
+
+        assertEquals("order-service-outbox-relay-pod-1", properties.transactionalId("order-service"));
+    }
+
+    @Test
+    void nonTransactionalModeFallsBackToAGeneratedInstanceId() {
+        OutboxRelayProperties properties = new OutboxRelayProperties(null, 0, null, null, null, false);
+
+        assertFalse(properties.instanceId().isBlank());
+    }
+}
@@ -0,0 +1,123 @@
+package rs.master.o2c.infra.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.reactivestreams.Publisher;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+import rs.master.o2c.events.CorrelationHeaders;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("unchecked")
+class OutboxRelayTest {
+
+    private final OutboxStore store = mock(OutboxStore.class);
+    private final ReactiveKafkaProducerTemplate<String, byte[]> producer = mock(ReactiveKafkaProducerTemplate.class);
+    private final List<ProducerRecord<String, byte[]>> sent = new ArrayList<>();
+
+    private OutboxRelay relay;
+
+    @AfterEach
+    void tearDown() {
+        if (relay != null) {
+            relay.stop();
+        }
+    }
+
+    @Test
+    void start_shouldSendEveryRowToItsOwnTopicWithItsCorrelationIdAndMarkItPublished() {
+        OutboxRecord completed = record("e1", "checkout.events.v1", "corr-1");
+        OutboxRecord requested = record("e2", "payment.requests.v1", null);
+        claimOnce(completed, requested);
+        when(producer.send(any(Publisher.class))).thenAnswer(inv -> acked(inv.getArgument(0)));
+
+        relay = new OutboxRelay(store, producer, properties(false), new SimpleMeterRegistry());
+        relay.start();
+
+        verify(store, timeout(1000)).markPublished(List.of("e1", "e2"));
+        assertEquals(List.of("checkout.events.v1", "payment.requests.v1"), sent.stream().map(ProducerRecord::topic).toList());
+        assertEquals(List.of("order-1", "order-1"), sent.stream().map(ProducerRecord::key).toList());
+        assertEquals("corr-1", header(sent.get(0), CorrelationHeaders.X_CORRELATION_ID));
+        assertNull(header(sent.get(1), CorrelationHeaders.X_CORRELATION_ID));
+    }
+
+    @Test
+    void start_shouldMarkOnlyTheAckedRowsWhenASendFails() {
+        claimOnce(record("e1", "order.events.v1", null), record("e2", "order.events.v1", null));
+        when(producer.send(any(Publisher.class))).thenAnswer(inv -> Flux.from(inv.<Publisher<SenderRecord<String, byte[], OutboxRecord>>>getArgument(0))
+                .take(1)
+                .map(OutboxRelayTest::result)
+                .concatWith(Mono.error(new IllegalStateException("broker down"))));
+
+        relay = new OutboxRelay(store, producer, properties(false), new SimpleMeterRegistry());
+        relay.start();
+
+        verify(store, timeout(1000)).markPublished(List.of("e1"));
+        verify(store, after(200).never()).markPublished(List.of("e1", "e2"));
+    }
+
+    @Test
+    void start_shouldMarkTheBatchPublishedOnlyAfterTheTransactionCommits() {
+        claimOnce(record("e1", "order.events.v1", null));
+        when(producer.sendTransactionally(any(Publisher.class))).thenReturn(Flux.error(new IllegalStateException("aborted")));
+
+        relay = new OutboxRelay(store, producer, properties(true), new SimpleMeterRegistry());
+        relay.start();
+
+        verify(producer, timeout(1000)).sendTransactionally(any(Publisher.class));
+        verify(store, after(200).never()).markPublished(anyCollection());
+    }
+
+    private void claimOnce(OutboxRecord... records) {
+        when(store.claim(anyInt(), anyString(), any(Duration.class))).thenReturn(Mono.just(records.length), Mono.just(0));
+        when(store.findClaimed(eq("relay-1"))).thenReturn(Flux.just(records), Flux.empty());
+        when(store.renewLeases(anyString())).thenReturn(Mono.just(0));
+        when(store.markPublished(anyCollection())).thenAnswer(inv -> Mono.just(inv.<List<String>>getArgument(0).size()));
+    }
+
+    private Flux<SenderResult<OutboxRecord>> acked(Publisher<SenderRecord<String, byte[], OutboxRecord>> records) {
+        return Flux.from(records)
+                .doOnNext(sent::add)
+                .map(OutboxRelayTest::result);
+    }
+
+    private static SenderResult<OutboxRecord> result(SenderRecord<String, byte[], OutboxRecord> record) {
+        SenderResult<OutboxRecord> result = mock(SenderResult.class);
+        when(result.correlationMetadata()).thenReturn(record.correlationMetadata());
+        return result;
+    }
+
+    private static OutboxRelayProperties properties(boolean transactional) {
+        return new OutboxRelayProperties("relay-1", 10, Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofSeconds(30), transactional);
+    }
+
+    private static OutboxRecord record(String id, String topic, String correlationId) {
+        return new OutboxRecord(id, "CHECKOUT", "order-1", "SomethingHappened", topic, correlationId, "{}", Instant.now());
+    }
+
+    private static String header(ProducerRecord<String, byte[]> record, String key) {
+        Header header = record.headers().lastHeader(key);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,71 @@
+package rs.master.o2c.infra.retention;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ChunkedPurgeJobTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void purge_shouldDeleteInChunksUntilAShortChunk() {
+        AtomicInteger remaining = new AtomicInteger(250);
+        List<Integer> limits = new ArrayList<>();
+
+        ChunkedPurgeJob job = new ChunkedPurgeJob(
+                "test.retention",
+                new PurgeSettings(true, Duration.ofDays(1), null, 100, Duration.ofMillis(100)),
+                (cutoff, limit) -> Mono.fromCallable(() -> {
+                    limits.add(limit);
+                    int deleted = Math.min(limit, remaining.get());
+                    remaining.addAndGet(-deleted);
+                    return deleted;
+                }),
+                () -> Mono.just((long) remaining.get()),
+                meterRegistry
+        );
+
+        StepVerifier.withVirtualTime(job::purge)
+                .thenAwait(Duration.ofSeconds(1))
+                .expectNext(250L)
+                .verifyComplete();
+
+        assertEquals(List.of(100, 100, 100), limits);
+        assertEquals(250.0, meterRegistry.get("test.retention.purged").counter().count());
+        assertEquals(0.0, meterRegistry.get("test.retention.table.rows").gauge().value());
+        assertEquals(1, meterRegistry.get("test.retention.duration").timer().count());
+    }
+
+    @Test
+    void purge_shouldPauseBetweenChunks() {
+        AtomicInteger chunks = new AtomicInteger();
+
+        ChunkedPurgeJob job = new ChunkedPurgeJob(
+                "test.retention",
+                new PurgeSettings(true, Duration.ofDays(1), null, 10, Duration.ofSeconds(1)),
+                (cutoff, limit) -> Mono.fromCallable(() -> {
+                    chunks.incrementAndGet();
+                    return limit;
+                }),
+                null,
+                meterRegistry
+        );
+
+        // Every chunk is full, so the run continues until cancelled.
+        StepVerifier.withVirtualTime(job::purge)
+                .thenAwait(Duration.ofMillis(2500))
+                .thenCancel()
+                .verify();
+
+        assertEquals(3, chunks.get());
+    }
+}
@@ -0,0 +1,66 @@
+import { HttpClient } from './httpClient';
+
+const TIMELINE_BASE_URL =
+  import.meta.env.VITE_TIMELINE_BASE_URL || '/api/timeline';
+
+const httpClient = new HttpClient(TIMELINE_BASE_URL);
+
+export interface OrderLifecycleEvent {
+  orderId: string;
+  source: string;
+  type: string;
+  status: string | null;
+  at: string;
+  failureReason: string | null;
+}
+
+export const timelineService = {
+  /**
+   * The whole lifecycle of one order (order, checkout and payment steps), oldest first.
+   */
+  async getTimeline(
+    orderId: string,
+    correlationId?: string
+  ): Promise<{ data: OrderLifecycleEvent[]; correlationId?: string }> {
+    return httpClient.get<OrderLifecycleEvent[]>(
+      `/o2c/${orderId}/timeline`,
+      correlationId
+    );
+  },
+
+  /**
+   * Opens a Server-Sent Events stream of lifecycle changes for the given orders.
+   * onOpen fires on every (re)connect and onError whenever the stream drops.
+   * Returns a function that closes the stream.
+   */
+  subscribe(
+    orderIds: string[],
+    onEvent: (event: OrderLifecycleEvent) => void,
+    onError?: (error: Event) => void,
+    onOpen?: () => void
+  ): () => void {
+    const params = new URLSearchParams({ orderIds: orderIds.join(',') });
+    const source = new EventSource(
+      `${TIMELINE_BASE_URL}/o2c/stream?${params.toString()}`,
+      { withCredentials: true }
+    );
+
+    source.onmessage = (message) => {
+      try {
+        onEvent(JSON.parse(message.data) as OrderLifecycleEvent);
+      } catch (error) {
+        console.error('Invalid order event:', error);
+      }
+    };
+
+    if (onError) {
+      source.onerror = onError;
+    }
+
+    if (onOpen) {
+      source.onopen = () => onOpen();
+    }
+
+    return () => source.close();
+  },
+};
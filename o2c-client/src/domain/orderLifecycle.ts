@@ -0,0 +1,216 @@
+import type { OrderLifecycleEvent } from '../api/timelineService';
+import type {
+  CheckoutStatusType,
+  OrderStatus,
+  OrderWithStatuses,
+  PaymentStatusType,
+  TimelineEvent,
+} from '../types';
+import { enrichOrderWithStatuses } from './statusAggregation';
+
+type LifecycleSource = 'ORDER' | 'CHECKOUT' | 'PAYMENT';
+
+function safeDateMs(value: string | null | undefined): number | null {
+  if (!value) return null;
+  const ms = new Date(value).getTime();
+  return Number.isFinite(ms) ? ms : null;
+}
+
+/**
+ * Oldest first; events without a usable timestamp go last
+ */
+function byTimeAscending(a: OrderLifecycleEvent, b: OrderLifecycleEvent): number {
+  const aMs = safeDateMs(a.at);
+  const bMs = safeDateMs(b.at);
+  if (aMs === null && bMs === null) return 0;
+  if (aMs === null) return 1;
+  if (bMs === null) return -1;
+  return aMs - bMs;
+}
+
+/**
+ * "PaymentCompleted" → "Payment completed"
+ */
+function messageFromType(type: string, fallback: string): string {
+  if (!type) return fallback;
+  const words = type
+    .replace(/_/g, ' ')
+    .replace(/([a-z])([A-Z])/g, '$1 $2')
+    .toLowerCase();
+  return words.charAt(0).toUpperCase() + words.slice(1);
+}
+
+function serviceOf(source: string): TimelineEvent['service'] {
+  switch (source) {
+    case 'CHECKOUT':
+      return 'checkout';
+    case 'PAYMENT':
+      return 'payment';
+    default:
+      return 'order';
+  }
+}
+
+function latestOf(
+  events: OrderLifecycleEvent[],
+  source: LifecycleSource
+): OrderLifecycleEvent | undefined {
+  const matching = events.filter((e) => e.source === source && e.status);
+  return [...matching].sort(byTimeAscending).pop();
+}
+
+/**
+ * Timeline entries for display, newest first
+ */
+export function toTimelineEvents(events: OrderLifecycleEvent[]): TimelineEvent[] {
+  return [...events]
+    .sort(byTimeAscending)
+    .reverse()
+    .map((event) => {
+      const status = event.status ?? 'UNKNOWN';
+      const service = serviceOf(event.source);
+
+      return {
+        service,
+        status: service === 'payment' && status === 'SUCCEEDED' ? 'COMPLETED' : status,
+        timestamp: event.at ?? '',
+        message: messageFromType(event.type, `${event.source} ${status.toLowerCase()}`),
+        failureReason: event.failureReason ?? undefined,
+      };
+    });
+}
+
+/**
+ * Current checkout and payment state: the most recent step of each, so a successful retry
+ * replaces an earlier payment failure
+ */
+export function currentStatuses(events: OrderLifecycleEvent[]): {
+  checkoutStatus?: CheckoutStatusType;
+  paymentStatus?: PaymentStatusType;
+  paymentFailureReason?: string;
+} {
+  const checkout = latestOf(events, 'CHECKOUT');
+  const payment = latestOf(events, 'PAYMENT');
+
+  return {
+    checkoutStatus: (checkout?.status ?? undefined) as CheckoutStatusType | undefined,
+    paymentStatus: (payment?.status ?? undefined) as PaymentStatusType | undefined,
+    paymentFailureReason:
+      payment?.status === 'FAILED' ? payment.failureReason ?? undefined : undefined,
+  };
+}
+
+function lifecycleKey(event: OrderLifecycleEvent): string {
+  return `${event.source}|${event.type}|${event.at}`;
+}
+
+/**
+ * Union of two lifecycles without repeats; steps are append-only, so nothing known is ever dropped
+ * when a fetched lifecycle is older than a pushed step
+ */
+export function mergeLifecycle(
+  current: OrderLifecycleEvent[],
+  incoming: OrderLifecycleEvent[]
+): OrderLifecycleEvent[] {
+  const seen = new Set(current.map(lifecycleKey));
+  const added = incoming.filter((event) => !seen.has(lifecycleKey(event)));
+  return added.length === 0 ? current : [...current, ...added];
+}
+
+/**
+ * Applies one pushed step to an order row without re-reading the projections
+ */
+export function applyLifecycleEvent(
+  order: OrderWithStatuses,
+  event: OrderLifecycleEvent
+): OrderWithStatuses {
+  if (!event.status) return order;
+
+  switch (event.source) {
+    case 'ORDER':
+      return enrichOrderWithStatuses(
+        { ...order, status: event.status as OrderStatus },
+        order.checkoutStatus,
+        order.paymentStatus,
+        order.paymentFailureReason
+      );
+    case 'CHECKOUT':
+      return enrichOrderWithStatuses(
+        order,
+        event.status as CheckoutStatusType,
+        order.paymentStatus,
+        order.paymentFailureReason
+      );
+    case 'PAYMENT':
+      return enrichOrderWithStatuses(
+        order,
+        order.checkoutStatus,
+        event.status as PaymentStatusType,
+        event.status === 'FAILED' ? event.failureReason ?? undefined : undefined
+      );
+    default:
+      return order;
+  }
+}
+
+/**
+ * Last pushed step of each source for one order
+ */
+export type PushedStatuses = Partial<Record<LifecycleSource, OrderLifecycleEvent>>;
+
+export function recordPushed(
+  pushed: PushedStatuses | undefined,
+  event: OrderLifecycleEvent
+): PushedStatuses {
+  if (!event.status) return pushed ?? {};
+
+  switch (event.source) {
+    case 'ORDER':
+    case 'CHECKOUT':
+    case 'PAYMENT':
+      return { ...pushed, [event.source]: event };
+    default:
+      return pushed ?? {};
+  }
+}
+
+/**
+ * Pending and freshly created steps rank below every terminal one
+ */
+function statusRank(status: string | null | undefined): number {
+  switch (status) {
+    case undefined:
+    case null:
+      return -1;
+    case 'CREATED':
+    case 'PENDING':
+      return 0;
+    default:
+      return 1;
+  }
+}
+
+/**
+ * A polled row with the pushed steps it has not caught up with re-applied, so a poll that lags
+ * behind the stream never moves a status backwards
+ */
+export function reconcileWithPushed(
+  fetched: OrderWithStatuses,
+  pushed: PushedStatuses | undefined
+): OrderWithStatuses {
+  if (!pushed) return fetched;
+
+  const fetchedStatus: Record<LifecycleSource, string | undefined> = {
+    ORDER: fetched.status,
+    CHECKOUT: fetched.checkoutStatus,
+    PAYMENT: fetched.paymentStatus,
+  };
+
+  return Object.values(pushed).reduce(
+    (row, event) =>
+      event && statusRank(event.status) > statusRank(fetchedStatus[event.source as LifecycleSource])
+        ? applyLifecycleEvent(row, event)
+        : row,
+    fetched
+  );
+}
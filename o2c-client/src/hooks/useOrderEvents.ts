@@ -0,0 +1,51 @@
+import { useEffect, useRef, useState } from 'react';
+import {
+  timelineService,
+  type OrderLifecycleEvent,
+} from '../api/timelineService';
+
+/** Poll interval while the stream is down or reconnecting */
+export const FALLBACK_POLL_INTERVAL_MS = 4000;
+/** Poll interval while the stream is open: only reconciles missed pushes and new orders */
+export const RECONCILE_POLL_INTERVAL_MS = 60000;
+
+/**
+ * Custom hook that listens for server-pushed lifecycle changes of the given orders
+ *
+ * @param orderIds - Orders to watch; nothing is opened while empty
+ * @param onEvent - Called for every pushed change
+ * @returns connected - Whether the stream is currently open; false while it is down or reconnecting
+ */
+export function useOrderEvents(
+  orderIds: string[],
+  onEvent: (event: OrderLifecycleEvent) => void
+) {
+  const savedCallback = useRef(onEvent);
+  const [connected, setConnected] = useState(false);
+
+  // Update the callback ref when it changes
+  useEffect(() => {
+    savedCallback.current = onEvent;
+  }, [onEvent]);
+
+  // Reopen only when the set of ids changes, not on every render
+  const key = [...orderIds].sort().join(',');
+
+  useEffect(() => {
+    if (!key) return;
+
+    const unsubscribe = timelineService.subscribe(
+      key.split(','),
+      (event) => savedCallback.current(event),
+      () => setConnected(false),
+      () => setConnected(true)
+    );
+
+    return () => {
+      unsubscribe();
+      setConnected(false);
+    };
+  }, [key]);
+
+  return { connected };
+}
@@ -1,18 +1,28 @@
-import { useState, useCallback, useRef } from 'react';
+import { useState, useCallback, useEffect, useRef } from 'react';
 import { useParams, Link } from 'react-router-dom';
 import { orderService } from '../api/orderService';
-import { checkoutService } from '../api/checkoutService';
 import { paymentService } from '../api/paymentService';
-import type {
-  OrderWithStatuses,
-  ApiError,
-  TimelineEvent,
-  CheckoutTimelineEvent,
-  PaymentTimelineEvent,
-} from '../types';
+import {
+  timelineService,
+  type OrderLifecycleEvent,
+} from '../api/timelineService';
+import type { OrderWithStatuses, ApiError, TimelineEvent } from '../types';
 import { enrichOrderWithStatuses } from '../domain/statusAggregation';
-import { mergeTimelines } from '../domain/timelineMerge';
+import {
+  applyLifecycleEvent,
+  currentStatuses,
+  mergeLifecycle,
+  reconcileWithPushed,
+  recordPushed,
+  toTimelineEvents,
+  type PushedStatuses,
+} from '../domain/orderLifecycle';
 import { usePolling } from '../hooks/usePolling';
+import {
+  useOrderEvents,
+  FALLBACK_POLL_INTERVAL_MS,
+  RECONCILE_POLL_INTERVAL_MS,
+} from '../hooks/useOrderEvents';
 import { ErrorBanner } from '../components/ErrorBanner';
 import { StatusBadge } from '../components/StatusBadge';
 import { CopyToClipboard } from '../components/CopyToClipboard';
@@ -29,83 +39,59 @@ export function OrderDetails() {
   const [retrying, setRetrying] = useState(false);
   const [retryError, setRetryError] = useState<ApiError | null>(null);
 
-  const checkoutTimelineCooldownUntil = useRef(0);
-  const paymentTimelineCooldownUntil = useRef(0);
-  const checkoutStatusCooldownUntil = useRef(0);
-  const paymentStatusCooldownUntil = useRef(0);
+  const timelineCooldownUntil = useRef(0);
+  // Last lifecycle we managed to load; kept while the timeline service is unavailable
+  const lifecycleRef = useRef<OrderLifecycleEvent[]>([]);
+  const pushedRef = useRef<PushedStatuses>({});
+
+  useEffect(() => {
+    lifecycleRef.current = [];
+    pushedRef.current = {};
+    timelineCooldownUntil.current = 0;
+  }, [orderId]);
 
   const fetchOrderDetails = useCallback(async () => {
     if (!orderId) return;
 
     try {
-      const now = Date.now();
-      const shouldFetchCheckoutTimeline = now >= checkoutTimelineCooldownUntil.current;
-      const shouldFetchPaymentTimeline = now >= paymentTimelineCooldownUntil.current;
-
-      const [orderResponse, checkoutTimelineResponse, paymentTimelineResponse] =
-        await Promise.all([
-          orderService.getOrder(orderId),
-          shouldFetchCheckoutTimeline
-            ? checkoutService.getCheckoutTimeline(orderId).catch(() => {
-                checkoutTimelineCooldownUntil.current = Date.now() + 30000;
-                return { data: [] as CheckoutTimelineEvent[] };
-              })
-            : Promise.resolve({ data: [] as CheckoutTimelineEvent[] }),
-          shouldFetchPaymentTimeline
-            ? paymentService.getPaymentTimeline(orderId).catch(() => {
-                paymentTimelineCooldownUntil.current = Date.now() + 30000;
-                return { data: [] as PaymentTimelineEvent[] };
-              })
-            : Promise.resolve({ data: [] as PaymentTimelineEvent[] }),
-        ]);
-
-      const orderData = orderResponse.data;
-
-      // Fetch current statuses for aggregation
-      const now2 = Date.now();
-      const shouldFetchCheckoutStatus = now2 >= checkoutStatusCooldownUntil.current;
-      const shouldFetchPaymentStatus = now2 >= paymentStatusCooldownUntil.current;
-
-      const [checkoutStatusResponse, paymentStatusResponse] =
-        await Promise.all([
-          shouldFetchCheckoutStatus
-            ? checkoutService.getCheckoutStatuses([orderId]).catch(() => {
-                checkoutStatusCooldownUntil.current = Date.now() + 30000;
-                return { data: [] };
-              })
-            : Promise.resolve({ data: [] }),
-          shouldFetchPaymentStatus
-            ? paymentService.getPaymentStatuses([orderId]).catch(() => {
-                paymentStatusCooldownUntil.current = Date.now() + 30000;
-                return { data: [] };
-              })
-            : Promise.resolve({ data: [] }),
-        ]);
-
-      const checkoutStatus = checkoutStatusResponse.data.find(
-        (c) => c.orderId === orderId
-      );
-      const paymentStatus = paymentStatusResponse.data.find(
-        (p) => p.orderId === orderId
+      const shouldFetchTimeline = Date.now() >= timelineCooldownUntil.current;
+
+      // One timeline query answers the checkout and payment steps and their current statuses
+      const [orderResponse, timelineResponse] = await Promise.all([
+        orderService.getOrder(orderId),
+        shouldFetchTimeline
+          ? timelineService.getTimeline(orderId).catch((err: ApiError) => {
+              // 404 only means no step was recorded yet; back off when the service is unavailable
+              if (err.code === 'HTTP_404') {
+                return { data: [] as OrderLifecycleEvent[] };
+              }
+              timelineCooldownUntil.current = Date.now() + 30000;
+              return null;
+            })
+          : Promise.resolve(null),
+      ]);
+
+      if (timelineResponse) {
+        // Keep steps already pushed live; the fetched timeline may not contain them yet
+        lifecycleRef.current = mergeLifecycle(timelineResponse.data, lifecycleRef.current);
+      }
+      const lifecycle = lifecycleRef.current;
+      const { checkoutStatus, paymentStatus, paymentFailureReason } =
+        currentStatuses(lifecycle);
+
+      // The order-service read may lag behind a pushed order step; never let it undo that status
+      setOrder(
+        reconcileWithPushed(
+          enrichOrderWithStatuses(
+            orderResponse.data,
+            checkoutStatus,
+            paymentStatus,
+            paymentFailureReason
+          ),
+          pushedRef.current
+        )
       );
-
-      const enrichedOrder = enrichOrderWithStatuses(
-        orderData,
-        checkoutStatus?.status,
-        paymentStatus?.status,
-        paymentStatus?.failureReason
-      );
-
-      setOrder(enrichedOrder);
-
-      // Merge timelines
-      const mergedTimeline = mergeTimelines(
-        orderData,
-        checkoutTimelineResponse.data,
-        paymentTimelineResponse.data
-      );
-
-      setTimeline(mergedTimeline);
+      setTimeline(toTimelineEvents(lifecycle));
       setError(null);
     } catch (err) {
       setError(err as ApiError);
@@ -114,8 +100,19 @@ export function OrderDetails() {
     }
   }, [orderId]);
 
-  // Poll every 4 seconds
-  usePolling(fetchOrderDetails, { interval: 4000 });
+  // Pushed steps carry their status, so apply them directly: refetching here would race the
+  // projections that have not consumed the same event yet
+  const handleOrderEvent = useCallback((event: OrderLifecycleEvent) => {
+    lifecycleRef.current = mergeLifecycle(lifecycleRef.current, [event]);
+    pushedRef.current = recordPushed(pushedRef.current, event);
+    setTimeline(toTimelineEvents(lifecycleRef.current));
+    setOrder((prev) => (prev ? applyLifecycleEvent(prev, event) : prev));
+  }, []);
+
+  const { connected } = useOrderEvents(orderId ? [orderId] : [], handleOrderEvent);
+  usePolling(fetchOrderDetails, {
+    interval: connected ? RECONCILE_POLL_INTERVAL_MS : FALLBACK_POLL_INTERVAL_MS,
+  });
 
   const handleRetryPayment = async () => {
     if (!orderId) return;
@@ -187,7 +184,7 @@ export function OrderDetails() {
         </div>
         <h2 className="text-gray-900">Order Details</h2>
         <p className="mt-2 text-gray-600">
-          Data refreshes every 4 seconds
+          Updates live as the order progresses
         </p>
       </div>
 
@@ -10,8 +10,20 @@ import type {
   CheckoutStatus,
   PaymentStatus,
 } from '../types';
+import type { OrderLifecycleEvent } from '../api/timelineService';
 import { enrichOrderWithStatuses } from '../domain/statusAggregation';
+import {
+  applyLifecycleEvent,
+  reconcileWithPushed,
+  recordPushed,
+  type PushedStatuses,
+} from '../domain/orderLifecycle';
 import { usePolling } from '../hooks/usePolling';
+import {
+  useOrderEvents,
+  FALLBACK_POLL_INTERVAL_MS,
+  RECONCILE_POLL_INTERVAL_MS,
+} from '../hooks/useOrderEvents';
 import { ErrorBanner } from '../components/ErrorBanner';
 import { StatusBadge } from '../components/StatusBadge';
 import { LoadingSpinner } from '../components/LoadingSpinner';
@@ -24,6 +36,7 @@ export function Orders() {
 
   const checkoutStatusCooldownUntil = useRef(0);
   const paymentStatusCooldownUntil = useRef(0);
+  const pushedRef = useRef(new Map<string, PushedStatuses>());
 
   const fetchOrders = useCallback(async () => {
     try {
@@ -79,7 +92,12 @@ export function Orders() {
         );
       });
 
-      setOrders(enrichedOrders);
+      // A poll that started before a push may land after it; never let it undo the pushed status
+      setOrders(
+        enrichedOrders.map((order) =>
+          reconcileWithPushed(order, pushedRef.current.get(order.orderId))
+        )
+      );
       setError(null);
     } catch (err) {
       setError(err as ApiError);
@@ -88,8 +106,27 @@ export function Orders() {
     }
   }, [filters]);
 
-  // Poll every 4 seconds
-  usePolling(fetchOrders, { interval: 4000 });
+  // Pushed steps carry their status, so update the matching row in place: refetching here would
+  // race the projections that have not consumed the same event yet
+  const handleOrderEvent = useCallback((event: OrderLifecycleEvent) => {
+    pushedRef.current.set(
+      event.orderId,
+      recordPushed(pushedRef.current.get(event.orderId), event)
+    );
+    setOrders((prev) =>
+      prev.map((order) =>
+        order.orderId === event.orderId ? applyLifecycleEvent(order, event) : order
+      )
+    );
+  }, []);
+
+  const { connected } = useOrderEvents(
+    orders.map((o) => o.orderId),
+    handleOrderEvent
+  );
+  usePolling(fetchOrders, {
+    interval: connected ? RECONCILE_POLL_INTERVAL_MS : FALLBACK_POLL_INTERVAL_MS,
+  });
 
   const handleFilterChange = (
     e: React.ChangeEvent<HTMLInputElement>
@@ -110,7 +147,7 @@ export function Orders() {
       <div className="mb-6">
         <h2 className="text-gray-900">Orders</h2>
         <p className="mt-2 text-gray-600">
-          View and monitor all orders in the system. Data refreshes every 4 seconds.
+          View and monitor all orders in the system. Statuses update live as orders progress.
         </p>
       </div>
 
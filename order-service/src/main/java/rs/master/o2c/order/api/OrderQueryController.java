@@ -1,5 +1,6 @@
 package rs.master.o2c.order.api;
 
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -29,4 +30,17 @@ public class OrderQueryController {
     ) {
         return orderReadService.list(customerId, fromDate, toDate, limit, cursor);
     }
+
+    /**
+     * Streams every matching order as newline-delimited JSON, one summary per line, without a row cap;
+     * rows are written as they are read, at the pace the client consumes them.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrderSummaryDto> export(
+            @RequestParam(required = false) String customerId,
+            @RequestParam(required = false) LocalDate fromDate,
+            @RequestParam(required = false) LocalDate toDate
+    ) {
+        return orderReadService.export(customerId, fromDate, toDate);
+    }
 }
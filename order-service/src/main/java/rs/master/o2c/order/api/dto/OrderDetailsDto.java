@@ -10,6 +10,10 @@ public record OrderDetailsDto(
         BigDecimal totalAmount,
         String currency,
         Instant createdAt,
-        String correlationId
+        String correlationId,
+        String paymentStatus,
+        String paymentId,
+        String paymentFailureReason,
+        Instant paymentUpdatedAt
 ) {
 }
@@ -0,0 +1,14 @@
+package rs.master.o2c.order.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import rs.master.o2c.infra.inbox.InboxConfiguration;
+
+/**
+ * Checkout and payment events share inbox_processed, and so one deduplicator (inbox.*).
+ * Each handler's inbox row and state change commit in one transaction.
+ */
+@Configuration
+@Import(InboxConfiguration.class)
+public class InboxConfig {
+}
@@ -1,21 +1,29 @@
 package rs.master.o2c.order.config;
 
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
 import reactor.kafka.sender.SenderOptions;
+import rs.master.o2c.events.codec.EventCodecConfiguration;
 
 import java.util.Map;
 
 @Configuration
+@Import(EventCodecConfiguration.class)
 public class KafkaReactiveConfig {
 
     @Bean
-    public ReactiveKafkaProducerTemplate<String, String> reactiveKafkaProducerTemplate(
+    @Primary
+    public ReactiveKafkaProducerTemplate<String, byte[]> reactiveKafkaProducerTemplate(
             KafkaProperties properties
     ) {
         Map<String, Object> props = properties.buildProducerProperties();
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
         return new ReactiveKafkaProducerTemplate<>(SenderOptions.create(props));
     }
-}
\ No newline at end of file
+}
@@ -4,28 +4,101 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.kafka.core.reactive.ReactiveKafkaConsumerTemplate;
 
 import reactor.kafka.receiver.ReceiverOptions;
 import rs.master.o2c.events.TopicNames;
+import rs.master.o2c.infra.kafka.ConsumerEngineOptions;
 
 @Configuration
 public class KafkaReactiveConsumerConfig {
 
     @Bean
-    public ReactiveKafkaConsumerTemplate<String, String> checkoutEventsConsumerTemplate(
-            KafkaProperties properties
+    public ReactiveKafkaConsumerTemplate<String, byte[]> checkoutEventsConsumerTemplate(
+            KafkaProperties properties,
+            CheckoutEventsConsumerProperties consumerProperties
     ) {
         Map<String, Object> props = properties.buildConsumerProperties();
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
         props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        // checkout.events.v1 may be written by a transactional outbox relay; skip aborted batches.
+        props.putIfAbsent(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
 
-        ReceiverOptions<String, String> receiverOptions =
-                ReceiverOptions.<String, String>create(props)
+        ReceiverOptions<String, byte[]> receiverOptions =
+                ReceiverOptions.<String, byte[]>create(props)
                         .subscription(List.of(TopicNames.CHECKOUT_EVENTS_V1));
 
+        receiverOptions = consumerProperties.toEngineOptions().applyTo(receiverOptions);
+
         return new ReactiveKafkaConsumerTemplate<>(receiverOptions);
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads the retry tiers of {@link TopicNames#CHECKOUT_EVENTS_V1}; records there are handled once their delay has passed.
+     * Lazy: the consumer runner only asks for it when retry tiers are configured.
+     */
+    @Bean
+    @Lazy
+    public ReactiveKafkaConsumerTemplate<String, byte[]> checkoutEventsRetryConsumerTemplate(
+            KafkaProperties properties,
+            CheckoutEventsConsumerProperties consumerProperties
+    ) {
+        Map<String, Object> props = properties.buildConsumerProperties();
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        ConsumerEngineOptions options = consumerProperties.toEngineOptions();
+
+        ReceiverOptions<String, byte[]> receiverOptions =
+                ReceiverOptions.<String, byte[]>create(props)
+                        .subscription(options.retryTopics(TopicNames.CHECKOUT_EVENTS_V1, properties.getConsumer().getGroupId()));
+
+        return new ReactiveKafkaConsumerTemplate<>(options.applyTo(receiverOptions));
+    }
+
+    @Bean
+    public ReactiveKafkaConsumerTemplate<String, byte[]> paymentEventsConsumerTemplate(
+            KafkaProperties properties,
+            PaymentEventsConsumerProperties consumerProperties
+    ) {
+        Map<String, Object> props = properties.buildConsumerProperties();
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        ReceiverOptions<String, byte[]> receiverOptions =
+                ReceiverOptions.<String, byte[]>create(props)
+                        .subscription(List.of(TopicNames.PAYMENT_EVENTS_V1));
+
+        receiverOptions = consumerProperties.toEngineOptions().applyTo(receiverOptions);
+
+        return new ReactiveKafkaConsumerTemplate<>(receiverOptions);
+    }
+
+    /**
+     * Reads the retry tiers of {@link TopicNames#PAYMENT_EVENTS_V1}; records there are handled once their delay has passed.
+     * Lazy: the consumer runner only asks for it when retry tiers are configured.
+     */
+    @Bean
+    @Lazy
+    public ReactiveKafkaConsumerTemplate<String, byte[]> paymentEventsRetryConsumerTemplate(
+            KafkaProperties properties,
+            PaymentEventsConsumerProperties consumerProperties
+    ) {
+        Map<String, Object> props = properties.buildConsumerProperties();
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        ConsumerEngineOptions options = consumerProperties.toEngineOptions();
+
+        ReceiverOptions<String, byte[]> receiverOptions =
+                ReceiverOptions.<String, byte[]>create(props)
+                        .subscription(options.retryTopics(TopicNames.PAYMENT_EVENTS_V1, properties.getConsumer().getGroupId()));
+
+        return new ReactiveKafkaConsumerTemplate<>(options.applyTo(receiverOptions));
+    }
+}
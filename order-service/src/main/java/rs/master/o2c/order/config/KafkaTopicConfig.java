@@ -1,9 +1,11 @@
 package rs.master.o2c.order.config;
 
 import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.KafkaAdmin;
 import rs.master.o2c.events.TopicNames;
 
 @Configuration
@@ -17,4 +19,32 @@ public class KafkaTopicConfig {
                 .replicas(1)
                 .build();
     }
-}
\ No newline at end of file
+
+    @Bean
+    public KafkaAdmin.NewTopics checkoutEventsRetryTopics(
+            CheckoutEventsConsumerProperties consumerProperties,
+            KafkaProperties kafkaProperties
+    ) {
+        return new KafkaAdmin.NewTopics(
+                consumerProperties.toEngineOptions()
+                        .retryTopics(TopicNames.CHECKOUT_EVENTS_V1, kafkaProperties.getConsumer().getGroupId())
+                        .stream()
+                        .map(name -> TopicBuilder.name(name).partitions(1).replicas(1).build())
+                        .toArray(NewTopic[]::new)
+        );
+    }
+
+    @Bean
+    public KafkaAdmin.NewTopics paymentEventsRetryTopics(
+            PaymentEventsConsumerProperties consumerProperties,
+            KafkaProperties kafkaProperties
+    ) {
+        return new KafkaAdmin.NewTopics(
+                consumerProperties.toEngineOptions()
+                        .retryTopics(TopicNames.PAYMENT_EVENTS_V1, kafkaProperties.getConsumer().getGroupId())
+                        .stream()
+                        .map(name -> TopicBuilder.name(name).partitions(1).replicas(1).build())
+                        .toArray(NewTopic[]::new)
+        );
+    }
+}
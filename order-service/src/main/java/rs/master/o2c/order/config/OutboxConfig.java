@@ -0,0 +1,14 @@
+package rs.master.o2c.order.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import rs.master.o2c.infra.outbox.OutboxConfiguration;
+
+/**
+ * OrderCreated is staged in outbox_event together with the order row and relayed by the shared
+ * outbox relay (outbox.relay.*, outbox.retention.*).
+ */
+@Configuration
+@Import(OutboxConfiguration.class)
+public class OutboxConfig {
+}
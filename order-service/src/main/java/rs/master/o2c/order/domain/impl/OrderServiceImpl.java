@@ -1,6 +1,7 @@
 package rs.master.o2c.order.domain.impl;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 import lombok.RequiredArgsConstructor;
@@ -10,15 +11,16 @@ import reactor.core.publisher.Mono;
 import rs.master.o2c.events.AggregateTypes;
 import rs.master.o2c.events.CorrelationHeaders;
 import rs.master.o2c.events.EventEnvelope;
+import rs.master.o2c.events.TopicNames;
 import rs.master.o2c.events.order.OrderCreated;
 import rs.master.o2c.events.order.OrderStatus;
 import rs.master.o2c.order.api.dto.CreateOrderRequest;
 import rs.master.o2c.order.domain.service.OrderService;
 import rs.master.o2c.order.messaging.mapper.OrderEventMapper;
 import rs.master.o2c.order.messaging.serializer.EventJsonSerializer;
-import rs.master.o2c.order.outbox.OutboxService;
 import rs.master.o2c.order.persistence.entity.OrderEntity;
-import rs.master.o2c.order.persistence.entity.OutboxEventEntity;
+import rs.master.o2c.infra.outbox.OutboxRecord;
+import rs.master.o2c.infra.outbox.OutboxStore;
 import rs.master.o2c.order.persistence.repository.OrderRepository;
 
 @Service
@@ -26,7 +28,7 @@ import rs.master.o2c.order.persistence.repository.OrderRepository;
 public class OrderServiceImpl implements OrderService {
 
     private final OrderRepository orderRepository;
-    private final OutboxService outboxService;
+    private final OutboxStore outboxStore;
     private final TransactionalOperator tx;
     private final OrderEventMapper mapper;
     private final EventJsonSerializer serializer;
@@ -57,17 +59,18 @@ public class OrderServiceImpl implements OrderService {
                     .flatMap(saved -> {
                     EventEnvelope<OrderCreated> envelope = mapper.toOrderCreatedEnvelope(saved);
 
-                    OutboxEventEntity outbox = new OutboxEventEntity(
+                    OutboxRecord outbox = new OutboxRecord(
                         envelope.messageId().toString(),
                         AggregateTypes.ORDER,
                         saved.id(),
                         envelope.eventType(),
+                        TopicNames.ORDER_EVENTS_V1,
+                        correlationId,
                         serializer.toJson(envelope),
-                        Instant.now(),
-                        null
+                        Instant.now()
                     );
 
-                    return outboxService.save(outbox).thenReturn(saved);
+                    return outboxStore.insertAll(List.of(outbox)).thenReturn(saved);
                     })
             );
         });
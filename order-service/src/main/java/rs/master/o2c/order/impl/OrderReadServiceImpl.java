@@ -9,6 +9,7 @@ import rs.master.o2c.order.api.dto.OrderDetailsDto;
 import rs.master.o2c.order.api.dto.OrderSummaryDto;
 import rs.master.o2c.order.persistence.entity.OrderEntity;
 import rs.master.o2c.order.persistence.repository.OrderRepository;
+import rs.master.o2c.order.persistence.repository.OrderSummaryReadRepository;
 import rs.master.o2c.order.service.OrderReadService;
 
 import java.time.Instant;
@@ -20,9 +21,14 @@ import java.util.UUID;
 public class OrderReadServiceImpl implements OrderReadService {
 
     private final OrderRepository orderRepository;
+    private final OrderSummaryReadRepository orderSummaryReadRepository;
 
-    public OrderReadServiceImpl(OrderRepository orderRepository) {
+    public OrderReadServiceImpl(
+            OrderRepository orderRepository,
+            OrderSummaryReadRepository orderSummaryReadRepository
+    ) {
         this.orderRepository = orderRepository;
+        this.orderSummaryReadRepository = orderSummaryReadRepository;
     }
 
     @Override
@@ -51,29 +57,31 @@ public class OrderReadServiceImpl implements OrderReadService {
         }
 
         String normalizedCustomerId = normalizeCustomerId(customerId);
-        Instant cursorInstant = parseCursor(cursor);
-
-        Instant fromInstant = fromDate == null ? null : fromDate.atStartOfDay().toInstant(ZoneOffset.UTC);
-        Instant toExclusive = toDate == null ? null : toDate.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC);
-
-        Flux<OrderEntity> base = (normalizedCustomerId == null)
-                ? orderRepository.findAll()
-                : orderRepository.findByCustomerId(normalizedCustomerId);
-
-        return base
-                .filter(o -> cursorInstant == null || (o.createdAt() != null && o.createdAt().isBefore(cursorInstant)))
-                .filter(o -> fromInstant == null || (o.createdAt() != null && !o.createdAt().isBefore(fromInstant)))
-                .filter(o -> toExclusive == null || (o.createdAt() != null && o.createdAt().isBefore(toExclusive)))
-                .sort((a, b) -> {
-                    Instant aCreated = a.createdAt();
-                    Instant bCreated = b.createdAt();
-                    if (aCreated == null && bCreated == null) return 0;
-                    if (aCreated == null) return 1;
-                    if (bCreated == null) return -1;
-                    return bCreated.compareTo(aCreated);
-                })
-                .take(limit)
-                .map(OrderReadServiceImpl::toSummaryDto);
+        Cursor after = parseCursor(cursor);
+
+        return orderSummaryReadRepository.findPage(
+                normalizedCustomerId,
+                startOf(fromDate),
+                endOf(toDate),
+                after == null ? null : after.createdAt(),
+                after == null ? null : after.id(),
+                limit
+        );
+    }
+
+    @Override
+    public Flux<OrderSummaryDto> export(String customerId, LocalDate fromDate, LocalDate toDate) {
+        String normalizedCustomerId = normalizeCustomerId(customerId);
+
+        return orderSummaryReadRepository.streamAll(normalizedCustomerId, startOf(fromDate), endOf(toDate));
+    }
+
+    private static Instant startOf(LocalDate fromDate) {
+        return fromDate == null ? null : fromDate.atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+
+    private static Instant endOf(LocalDate toDate) {
+        return toDate == null ? null : toDate.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC);
     }
 
     private static String normalizeOrderId(String orderId) {
@@ -102,16 +110,34 @@ public class OrderReadServiceImpl implements OrderReadService {
         }
     }
 
-    private static Instant parseCursor(String cursor) {
+    /**
+     * Cursor is "createdAt,orderId" of the last row of the previous page; a bare createdAt is still
+     * accepted and continues strictly before that instant.
+     */
+    private static Cursor parseCursor(String cursor) {
         if (cursor == null || cursor.isBlank()) {
             return null;
         }
 
+        String[] parts = cursor.trim().split(",", 2);
+
+        Instant createdAt;
         try {
-            return Instant.parse(cursor.trim());
+            createdAt = Instant.parse(parts[0].trim());
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "cursor must be an ISO-8601 instant");
         }
+
+        if (parts.length == 1) {
+            return new Cursor(createdAt, null);
+        }
+
+        try {
+            UUID.fromString(parts[1].trim());
+            return new Cursor(createdAt, parts[1].trim());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "cursor order id must be a UUID");
+        }
     }
 
     private static OrderDetailsDto toDetailsDto(OrderEntity o) {
@@ -122,18 +148,14 @@ public class OrderReadServiceImpl implements OrderReadService {
                 o.totalAmount(),
                 o.currency(),
                 o.createdAt(),
-                o.correlationId()
+                o.correlationId(),
+                o.paymentStatus(),
+                o.paymentId(),
+                o.paymentFailureReason(),
+                o.paymentUpdatedAt()
         );
     }
 
-    private static OrderSummaryDto toSummaryDto(OrderEntity o) {
-        return new OrderSummaryDto(
-                o.id(),
-                o.customerId(),
-                o.status(),
-                o.totalAmount(),
-                o.currency(),
-                o.createdAt()
-        );
+    private record Cursor(Instant createdAt, String id) {
     }
 }
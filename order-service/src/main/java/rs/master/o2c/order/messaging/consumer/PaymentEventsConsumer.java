@@ -0,0 +1,19 @@
+package rs.master.o2c.order.messaging.consumer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import rs.master.o2c.order.messaging.service.PaymentEventsConsumerRunner;
+
+@Component
+@RequiredArgsConstructor
+public class PaymentEventsConsumer {
+
+    private final PaymentEventsConsumerRunner runner;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        runner.start();
+    }
+}
\ No newline at end of file
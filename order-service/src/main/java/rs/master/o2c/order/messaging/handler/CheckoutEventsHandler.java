@@ -1,11 +1,8 @@
 package rs.master.o2c.order.messaging.handler;
 
-import java.time.Instant;
-
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
-import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
@@ -13,65 +10,105 @@ import rs.master.o2c.events.checkout.CheckoutCompleted;
 import rs.master.o2c.events.checkout.CheckoutFailed;
 import rs.master.o2c.events.EventTypes;
 import rs.master.o2c.events.order.OrderStatus;
-import rs.master.o2c.order.persistence.entity.InboxProcessedEntity;
-import rs.master.o2c.order.persistence.repository.InboxProcessedRepository;
+import rs.master.o2c.infra.inbox.InboxDeduplicator;
+import rs.master.o2c.infra.inbox.InboxStore;
 import rs.master.o2c.order.persistence.repository.OrderRepository;
 
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Component
 @RequiredArgsConstructor
 public class CheckoutEventsHandler {
 
+    /**
+     * Checkout outcomes only apply to orders still awaiting one; a redelivered or late event
+     * must not overwrite a status that was already decided.
+     */
+    private static final List<String> TRANSITION_FROM = List.of(OrderStatus.CREATED);
+
     private final ObjectMapper objectMapper;
     private final OrderRepository orderRepository;
-    private final InboxProcessedRepository inboxProcessedRepository;
+    private final InboxStore inboxStore;
+    private final InboxDeduplicator inboxDeduplicator;
 
-    public Mono<Void> handle(String payload) {
-        return Mono.fromCallable(() -> objectMapper.readTree(payload))
+    public Mono<Void> handle(byte[] payload) {
+        return Mono.fromCallable(() -> toStatusChange(objectMapper.readTree(payload)))
                 .subscribeOn(Schedulers.boundedElastic())
-                .flatMap(root -> {
-                    String eventType = text(root, "eventType");
-                    if (!EventTypes.CHECKOUT_COMPLETED.equals(eventType)
-                            && !EventTypes.CHECKOUT_FAILED.equals(eventType)) {
+                .flatMap(change -> inboxDeduplicator.once(
+                        change.messageId(),
+                        () -> orderRepository.transitionStatus(change.orderId(), TRANSITION_FROM, change.status()).then()
+                ));
+    }
+
+    /**
+     * Applies a micro-batch of records from one partition lane: the inbox check and insert and a
+     * single guarded CASE update of all affected orders run in one transaction. When an order appears
+     * more than once, the first record wins, as it would if the records were handled one by one.
+     */
+    public Mono<Void> handleBatch(List<byte[]> payloads) {
+        return Mono.fromCallable(() -> toStatusChanges(payloads))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(changes -> {
+                    if (changes.isEmpty()) {
                         return Mono.empty();
                     }
 
-                    String messageId = text(root, "messageId");
-
-                    return inboxProcessedRepository
-                            .save(new InboxProcessedEntity(messageId, Instant.now()))
-                            .then(process(root, eventType))
-                            .onErrorResume(DuplicateKeyException.class, e -> Mono.empty());
+                    return inboxDeduplicator.onceAll(
+                            changes.stream().map(StatusChange::messageId).toList(),
+                            ids -> inboxStore.insertMissing(ids, Instant.now()),
+                            newIds -> applyStatusChanges(changes, newIds)
+                    );
                 });
     }
 
-    private Mono<Void> process(JsonNode root, String eventType) {
-        if (EventTypes.CHECKOUT_COMPLETED.equals(eventType)) {
-            CheckoutCompleted ev = objectMapper.convertValue(root.get("payload"), CheckoutCompleted.class);
+    private Mono<Void> applyStatusChanges(List<StatusChange> changes, Set<String> newMessageIds) {
+        Map<String, String> toByOrderId = new LinkedHashMap<>();
+        for (StatusChange change : changes) {
+            if (newMessageIds.contains(change.messageId())) {
+                toByOrderId.putIfAbsent(change.orderId(), change.status());
+            }
+        }
+
+        return orderRepository.transitionStatuses(toByOrderId, TRANSITION_FROM).then();
+    }
 
-            return orderRepository
-                    .findById(ev.orderId())
-                    .flatMap(order -> {
-                        order.setStatus(OrderStatus.CONFIRMED);
-                        order.markNotNew();
-                        return orderRepository.save(order);
-                    })
-                    .then();
+    private List<StatusChange> toStatusChanges(List<byte[]> payloads) throws IOException {
+        List<StatusChange> changes = new ArrayList<>(payloads.size());
+        for (byte[] payload : payloads) {
+            StatusChange change = toStatusChange(objectMapper.readTree(payload));
+            if (change != null) {
+                changes.add(change);
+            }
         }
+        return changes;
+    }
 
-        CheckoutFailed ev = objectMapper.convertValue(root.get("payload"), CheckoutFailed.class);
+    private StatusChange toStatusChange(JsonNode root) {
+        String eventType = text(root, "eventType");
+        String messageId = text(root, "messageId");
 
-        return orderRepository
-                .findById(ev.orderId())
-                .flatMap(order -> {
-                    order.setStatus(OrderStatus.FAILED);
-                    order.markNotNew();
-                    return orderRepository.save(order);
-                })
-                .then();
+        if (EventTypes.CHECKOUT_COMPLETED.equals(eventType)) {
+            CheckoutCompleted ev = objectMapper.convertValue(root.get("payload"), CheckoutCompleted.class);
+            return new StatusChange(messageId, ev.orderId(), OrderStatus.CONFIRMED);
+        }
+        if (EventTypes.CHECKOUT_FAILED.equals(eventType)) {
+            CheckoutFailed ev = objectMapper.convertValue(root.get("payload"), CheckoutFailed.class);
+            return new StatusChange(messageId, ev.orderId(), OrderStatus.FAILED);
+        }
+        return null;
     }
 
     private String text(JsonNode root, String field) {
         JsonNode n = root.get(field);
         return n == null || n.isNull() ? null : n.asText();
     }
-}
\ No newline at end of file
+
+    private record StatusChange(String messageId, String orderId, String status) {
+    }
+}
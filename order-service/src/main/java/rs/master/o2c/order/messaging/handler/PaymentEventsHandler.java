@@ -0,0 +1,76 @@
+package rs.master.o2c.order.messaging.handler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import rs.master.o2c.events.EventTypes;
+import rs.master.o2c.events.payment.PaymentCompleted;
+import rs.master.o2c.events.payment.PaymentFailed;
+import rs.master.o2c.events.payment.PaymentStatus;
+import rs.master.o2c.infra.inbox.InboxDeduplicator;
+import rs.master.o2c.order.persistence.repository.OrderRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Projects payment outcomes onto the order row, so GET /orders/{id} answers order and payment state
+ * without the caller asking payment-service.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentEventsHandler {
+
+    /**
+     * A succeeded payment is final; a failure may still be followed by a successful retry.
+     */
+    private static final List<String> SETTLED = List.of(PaymentStatus.SUCCEEDED);
+
+    private final ObjectMapper objectMapper;
+    private final OrderRepository orderRepository;
+    private final InboxDeduplicator inboxDeduplicator;
+
+    public Mono<Void> handle(byte[] payload) {
+        return Mono.fromCallable(() -> objectMapper.readTree(payload))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(root -> {
+                    String eventType = text(root, "eventType");
+                    if (!EventTypes.PAYMENT_COMPLETED.equals(eventType)
+                            && !EventTypes.PAYMENT_FAILED.equals(eventType)) {
+                        return Mono.empty();
+                    }
+
+                    String messageId = text(root, "messageId");
+
+                    return inboxDeduplicator.once(messageId, () -> process(root, eventType));
+                });
+    }
+
+    private Mono<Void> process(JsonNode root, String eventType) {
+        Instant occurredAt = root.hasNonNull("occurredAt")
+                ? objectMapper.convertValue(root.get("occurredAt"), Instant.class)
+                : Instant.now();
+
+        if (EventTypes.PAYMENT_COMPLETED.equals(eventType)) {
+            PaymentCompleted ev = objectMapper.convertValue(root.get("payload"), PaymentCompleted.class);
+
+            return orderRepository
+                    .projectPayment(ev.orderId(), SETTLED, PaymentStatus.SUCCEEDED, ev.paymentId(), null, occurredAt)
+                    .then();
+        }
+
+        PaymentFailed ev = objectMapper.convertValue(root.get("payload"), PaymentFailed.class);
+
+        return orderRepository
+                .projectPayment(ev.orderId(), SETTLED, PaymentStatus.FAILED, ev.paymentId(), ev.reason(), occurredAt)
+                .then();
+    }
+
+    private String text(JsonNode root, String field) {
+        JsonNode n = root.get(field);
+        return n == null || n.isNull() ? null : n.asText();
+    }
+}
@@ -1,52 +1,58 @@
 package rs.master.o2c.order.messaging.impl;
 
-import lombok.RequiredArgsConstructor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.kafka.core.reactive.ReactiveKafkaConsumerTemplate;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
 import org.springframework.stereotype.Service;
-import reactor.core.publisher.Mono;
-import rs.master.o2c.events.CorrelationHeaders;
-import rs.master.o2c.infra.correlation.CorrelationIdSupport;
-import rs.master.o2c.infra.kafka.KafkaRetryPolicies;
+import reactor.kafka.receiver.ReceiverRecord;
+import rs.master.o2c.infra.kafka.ReactiveConsumerEngine;
+import rs.master.o2c.infra.kafka.RetryTopicPublisher;
+import rs.master.o2c.order.config.CheckoutEventsConsumerProperties;
 import rs.master.o2c.order.messaging.handler.CheckoutEventsHandler;
 import rs.master.o2c.order.messaging.service.CheckoutEventsConsumerRunner;
 import rs.master.o2c.order.messaging.service.CheckoutEventsDlqPublisher;
 
 @Service
-@RequiredArgsConstructor
 public class CheckoutEventsConsumerRunnerImpl implements CheckoutEventsConsumerRunner {
 
-    private static final Logger log = LoggerFactory.getLogger(CheckoutEventsConsumerRunnerImpl.class);
+    private final ReactiveKafkaConsumerTemplate<String, byte[]> checkoutEventsConsumerTemplate;
+    private final ObjectProvider<ReactiveKafkaConsumerTemplate<String, byte[]>> retryConsumer;
+    private final boolean retryTopics;
+    private final ReactiveConsumerEngine<String, byte[]> engine;
 
-    private final ReactiveKafkaConsumerTemplate<String, String> checkoutEventsConsumerTemplate;
-    private final CheckoutEventsHandler handler;
-    private final CheckoutEventsDlqPublisher dlqPublisher;
+    public CheckoutEventsConsumerRunnerImpl(
+            @Qualifier("checkoutEventsConsumerTemplate") ReactiveKafkaConsumerTemplate<String, byte[]> checkoutEventsConsumerTemplate,
+            @Qualifier("checkoutEventsRetryConsumerTemplate") ObjectProvider<ReactiveKafkaConsumerTemplate<String, byte[]>> retryConsumer,
+            ReactiveKafkaProducerTemplate<String, byte[]> producer,
+            KafkaProperties kafkaProperties,
+            CheckoutEventsHandler handler,
+            CheckoutEventsDlqPublisher dlqPublisher,
+            CheckoutEventsConsumerProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.checkoutEventsConsumerTemplate = checkoutEventsConsumerTemplate;
+        this.retryConsumer = retryConsumer;
+        this.retryTopics = properties.toEngineOptions().hasRetryTopics();
+        this.engine = new ReactiveConsumerEngine<>(
+                "checkout-events",
+                record -> handler.handle(record.value()),
+                records -> handler.handleBatch(records.stream().map(ReceiverRecord::value).toList()),
+                new RetryTopicPublisher<>(producer, kafkaProperties.getConsumer().getGroupId()),
+                dlqPublisher::publish,
+                properties.toEngineOptions(),
+                meterRegistry
+        );
+    }
 
     @Override
     public void start() {
-        checkoutEventsConsumerTemplate
-                .receive()
-                .concatMap(record ->
-                        handler.handle(record.value())
-                                .retryWhen(KafkaRetryPolicies.processingRetry())
-                                .then(Mono.fromRunnable(record.receiverOffset()::acknowledge))
-                                .onErrorResume(e -> {
-                                    log.error(
-                                            "checkout-events handler failed after retries correlationId={} partition={} offset={}",
-                                            CorrelationIdSupport.headerValueOrNA(record.headers().lastHeader(CorrelationHeaders.X_CORRELATION_ID)),
-                                            record.partition(),
-                                            record.offset(),
-                                            e
-                                    );
-
-                                    return dlqPublisher.publish(record, e)
-                                            .retryWhen(KafkaRetryPolicies.dlqRetry())
-                                            .then(Mono.fromRunnable(record.receiverOffset()::acknowledge));
-                                })
-                )
-                .doOnError(e -> log.error("checkout-events consumer stream error correlationId=n/a", e))
-                .retryWhen(KafkaRetryPolicies.streamRetry())
-                .subscribe();
+        engine.start(checkoutEventsConsumerTemplate.receive());
+        // Without retry tiers there is no retry topic to subscribe to; failing records are retried in place
+        if (retryTopics) {
+            engine.startRetries(retryConsumer.getObject().receive());
+        }
     }
 }
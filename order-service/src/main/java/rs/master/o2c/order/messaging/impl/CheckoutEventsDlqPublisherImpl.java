@@ -16,16 +16,16 @@ public class CheckoutEventsDlqPublisherImpl implements CheckoutEventsDlqPublishe
 
     private static final Logger log = LoggerFactory.getLogger(CheckoutEventsDlqPublisherImpl.class);
 
-    private final ReactiveKafkaProducerTemplate<String, String> producer;
+    private final ReactiveKafkaProducerTemplate<String, byte[]> producer;
 
-    public CheckoutEventsDlqPublisherImpl(ReactiveKafkaProducerTemplate<String, String> producer) {
+    public CheckoutEventsDlqPublisherImpl(ReactiveKafkaProducerTemplate<String, byte[]> producer) {
         this.producer = producer;
     }
 
     @Override
-    public Mono<Void> publish(ReceiverRecord<String, String> record, Throwable cause) {
+    public Mono<Void> publish(ReceiverRecord<String, byte[]> record, Throwable cause) {
         return Mono.defer(() -> {
-            ProducerRecord<String, String> out = new ProducerRecord<>(
+            ProducerRecord<String, byte[]> out = new ProducerRecord<>(
                     TopicNames.CHECKOUT_EVENTS_DLQ_V1,
                     record.key(),
                     record.value()
@@ -0,0 +1,56 @@
+package rs.master.o2c.order.messaging.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.reactive.ReactiveKafkaConsumerTemplate;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import org.springframework.stereotype.Service;
+import rs.master.o2c.infra.kafka.ReactiveConsumerEngine;
+import rs.master.o2c.infra.kafka.RetryTopicPublisher;
+import rs.master.o2c.order.config.PaymentEventsConsumerProperties;
+import rs.master.o2c.order.messaging.handler.PaymentEventsHandler;
+import rs.master.o2c.order.messaging.service.PaymentEventsConsumerRunner;
+import rs.master.o2c.order.messaging.service.PaymentEventsDlqPublisher;
+
+@Service
+public class PaymentEventsConsumerRunnerImpl implements PaymentEventsConsumerRunner {
+
+    private final ReactiveKafkaConsumerTemplate<String, byte[]> paymentEventsConsumerTemplate;
+    private final ObjectProvider<ReactiveKafkaConsumerTemplate<String, byte[]>> retryConsumer;
+    private final boolean retryTopics;
+    private final ReactiveConsumerEngine<String, byte[]> engine;
+
+    public PaymentEventsConsumerRunnerImpl(
+            @Qualifier("paymentEventsConsumerTemplate") ReactiveKafkaConsumerTemplate<String, byte[]> paymentEventsConsumerTemplate,
+            @Qualifier("paymentEventsRetryConsumerTemplate") ObjectProvider<ReactiveKafkaConsumerTemplate<String, byte[]>> retryConsumer,
+            ReactiveKafkaProducerTemplate<String, byte[]> producer,
+            KafkaProperties kafkaProperties,
+            PaymentEventsHandler handler,
+            PaymentEventsDlqPublisher dlqPublisher,
+            PaymentEventsConsumerProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.paymentEventsConsumerTemplate = paymentEventsConsumerTemplate;
+        this.retryConsumer = retryConsumer;
+        this.retryTopics = properties.toEngineOptions().hasRetryTopics();
+        this.engine = new ReactiveConsumerEngine<>(
+                "payment-events",
+                record -> handler.handle(record.value()),
+                new RetryTopicPublisher<>(producer, kafkaProperties.getConsumer().getGroupId()),
+                dlqPublisher::publish,
+                properties.toEngineOptions(),
+                meterRegistry
+        );
+    }
+
+    @Override
+    public void start() {
+        engine.start(paymentEventsConsumerTemplate.receive());
+        // Without retry tiers there is no retry topic to subscribe to; failing records are retried in place
+        if (retryTopics) {
+            engine.startRetries(retryConsumer.getObject().receive());
+        }
+    }
+}
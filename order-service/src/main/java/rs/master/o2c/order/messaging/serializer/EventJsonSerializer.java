@@ -1,19 +1,20 @@
 package rs.master.o2c.order.messaging.serializer;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import rs.master.o2c.events.EventEnvelope;
+import rs.master.o2c.events.codec.EventEnvelopeCodec;
 
 @Component
 @RequiredArgsConstructor
 public class EventJsonSerializer {
 
-    private final ObjectMapper objectMapper;
+    private final EventEnvelopeCodec codec;
 
-    public String toJson(Object value) {
+    public String toJson(EventEnvelope<?> envelope) {
         try {
-            return objectMapper.writeValueAsString(value);
+            return codec.write(envelope);
         } catch (JsonProcessingException e) {
             throw new IllegalStateException("Failed to serialize event", e);
         }
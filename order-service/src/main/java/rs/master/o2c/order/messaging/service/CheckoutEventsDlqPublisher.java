@@ -5,5 +5,5 @@ import reactor.kafka.receiver.ReceiverRecord;
 
 public interface CheckoutEventsDlqPublisher {
 
-    Mono<Void> publish(ReceiverRecord<String, String> record, Throwable cause);
+    Mono<Void> publish(ReceiverRecord<String, byte[]> record, Throwable cause);
 }
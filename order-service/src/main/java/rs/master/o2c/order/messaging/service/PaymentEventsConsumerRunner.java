@@ -0,0 +1,6 @@
+package rs.master.o2c.order.messaging.service;
+
+public interface PaymentEventsConsumerRunner {
+
+    void start();
+}
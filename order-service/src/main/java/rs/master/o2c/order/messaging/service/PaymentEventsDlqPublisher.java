@@ -0,0 +1,9 @@
+package rs.master.o2c.order.messaging.service;
+
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.ReceiverRecord;
+
+public interface PaymentEventsDlqPublisher {
+
+    Mono<Void> publish(ReceiverRecord<String, byte[]> record, Throwable cause);
+}
@@ -31,6 +31,18 @@ public class OrderEntity implements Persistable<String> {
         @Column("created_at")
         private Instant createdAt;
 
+        @Column("payment_status")
+        private String paymentStatus;
+
+        @Column("payment_id")
+        private String paymentId;
+
+        @Column("payment_failure_reason")
+        private String paymentFailureReason;
+
+        @Column("payment_updated_at")
+        private Instant paymentUpdatedAt;
+
         @Transient
         private boolean isNew = true;
 
@@ -59,6 +71,10 @@ public class OrderEntity implements Persistable<String> {
         public String currency() { return currency; }
         public Instant createdAt() { return createdAt; }
         public String correlationId() { return correlationId; }
+        public String paymentStatus() { return paymentStatus; }
+        public String paymentId() { return paymentId; }
+        public String paymentFailureReason() { return paymentFailureReason; }
+        public Instant paymentUpdatedAt() { return paymentUpdatedAt; }
 
         public void setStatus(String status) {
                 this.status = status;
@@ -0,0 +1,15 @@
+package rs.master.o2c.order.persistence.repository;
+
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
+public interface OrderCustomRepository {
+
+    /**
+     * Batch form of {@link OrderRepository#transitionStatus}: every order still in one of {@code from}
+     * moves to its target status, all in one statement. Emits the number of orders that moved.
+     */
+    Mono<Integer> transitionStatuses(Map<String, String> toByOrderId, Collection<String> from);
+}
@@ -0,0 +1,49 @@
+package rs.master.o2c.order.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderCustomRepositoryImpl implements OrderCustomRepository {
+
+    private final R2dbcEntityTemplate template;
+
+    /**
+     * update orders set status = case id when :id0 then :status0 ... end
+     * where id in (:ids) and status in (:from)
+     */
+    @Override
+    public Mono<Integer> transitionStatuses(Map<String, String> toByOrderId, Collection<String> from) {
+        if (toByOrderId.isEmpty()) {
+            return Mono.just(0);
+        }
+
+        StringBuilder sql = new StringBuilder("update orders set status = case id");
+        int i = 0;
+        for (int n = toByOrderId.size(); i < n; i++) {
+            sql.append(" when :id").append(i).append(" then :status").append(i);
+        }
+        sql.append(" end where id in (:ids) and status in (:from)");
+
+        DatabaseClient.GenericExecuteSpec spec = template.getDatabaseClient().sql(sql.toString())
+                .bind("ids", toByOrderId.keySet())
+                .bind("from", from);
+
+        i = 0;
+        for (Map.Entry<String, String> change : toByOrderId.entrySet()) {
+            spec = spec.bind("id" + i, change.getKey()).bind("status" + i, change.getValue());
+            i++;
+        }
+
+        return spec.fetch()
+                .rowsUpdated()
+                .map(Long::intValue);
+    }
+}
@@ -1,10 +1,52 @@
 package rs.master.o2c.order.persistence.repository;
 
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import rs.master.o2c.order.persistence.entity.OrderEntity;
 
-public interface OrderRepository extends ReactiveCrudRepository<OrderEntity, String> {
+import java.time.Instant;
+import java.util.Collection;
+
+public interface OrderRepository extends ReactiveCrudRepository<OrderEntity, String>, OrderCustomRepository {
 
 	Flux<OrderEntity> findByCustomerId(String customerId);
-}
\ No newline at end of file
+
+	/**
+	 * Moves the order to {@code to} only while it is still in one of {@code from}; emits false when the
+	 * order is missing or already elsewhere (e.g. a late event arriving after a terminal status).
+	 */
+	@Modifying
+	@Query("""
+		update orders
+		set status = :to
+		where id = :id
+		  and status in (:from)
+		""")
+	Mono<Boolean> transitionStatus(String id, Collection<String> from, String to);
+
+	/**
+	 * Projects a payment outcome onto the order unless the payment already reached one of {@code settled};
+	 * emits false when the order is missing or already settled (e.g. a late failure after a success).
+	 */
+	@Modifying
+	@Query("""
+		update orders
+		set payment_status = :paymentStatus,
+		    payment_id = :paymentId,
+		    payment_failure_reason = :failureReason,
+		    payment_updated_at = :updatedAt
+		where id = :id
+		  and (payment_status is null or payment_status not in (:settled))
+		""")
+	Mono<Boolean> projectPayment(
+			String id,
+			Collection<String> settled,
+			String paymentStatus,
+			String paymentId,
+			String failureReason,
+			Instant updatedAt
+	);
+}
@@ -0,0 +1,158 @@
+package rs.master.o2c.order.persistence.repository;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import rs.master.o2c.order.api.dto.OrderSummaryDto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Read path for order lists: selects the six summary columns and maps rows straight into
+ * {@link OrderSummaryDto}, skipping entity conversion and the after-convert callbacks.
+ * Every column it reads is in idx_orders_customer_summary / idx_orders_created_summary,
+ * so a page is answered from the index without touching the clustered rows.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderSummaryReadRepository {
+
+    private static final String SQL_SELECT_SUMMARY = """
+            select id, customer_id, status, total_amount, currency, created_at
+            from orders
+            """;
+
+    private static final String SQL_ORDER_BY_NEWEST = """
+            order by created_at desc, id desc
+            """;
+
+    /**
+     * Rows per export query. The connection uses the text protocol (no useServerPrepareStatement),
+     * where the driver ignores fetchSize and reads a whole result set, so the export pages by keyset
+     * instead of relying on a server-side cursor.
+     */
+    static final int EXPORT_PAGE_SIZE = 500;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * One keyset page, newest first (created_at desc, id desc). Every filter is optional; the page
+     * starts strictly after the (afterCreatedAt, afterId) cursor, or after afterCreatedAt alone when
+     * afterId is null.
+     */
+    public Flux<OrderSummaryDto> findPage(
+            String customerId,
+            Instant fromInclusive,
+            Instant toExclusive,
+            Instant afterCreatedAt,
+            String afterId,
+            int limit
+    ) {
+        return select(customerId, fromInclusive, toExclusive, afterCreatedAt, afterId, limit);
+    }
+
+    /**
+     * Every matching summary, newest first, read one keyset page at a time. The next page is queried
+     * only once the previous one is being written out, so a slow client holds back the queries and at
+     * most two pages are held in memory. Orders created during the export are newer than the cursor
+     * and are not included.
+     */
+    public Flux<OrderSummaryDto> streamAll(String customerId, Instant fromInclusive, Instant toExclusive) {
+        return streamAll(customerId, fromInclusive, toExclusive, EXPORT_PAGE_SIZE);
+    }
+
+    Flux<OrderSummaryDto> streamAll(String customerId, Instant fromInclusive, Instant toExclusive, int pageSize) {
+        return Flux.defer(() -> {
+            AtomicReference<OrderSummaryDto> last = new AtomicReference<>();
+
+            return Mono
+                    .defer(() -> {
+                        OrderSummaryDto cursor = last.get();
+                        return findPage(
+                                customerId,
+                                fromInclusive,
+                                toExclusive,
+                                cursor == null ? null : cursor.createdAt(),
+                                cursor == null ? null : cursor.orderId(),
+                                pageSize
+                        ).collectList();
+                    })
+                    .doOnNext(page -> {
+                        if (!page.isEmpty()) {
+                            last.set(page.get(page.size() - 1));
+                        }
+                    })
+                    .repeat()
+                    .takeUntil(page -> page.size() < pageSize)
+                    .concatMapIterable(page -> page, 1);
+        });
+    }
+
+    private Flux<OrderSummaryDto> select(
+            String customerId,
+            Instant fromInclusive,
+            Instant toExclusive,
+            Instant afterCreatedAt,
+            String afterId,
+            int limit
+    ) {
+        List<String> conditions = new ArrayList<>();
+
+        if (customerId != null) {
+            conditions.add("customer_id = :customerId");
+        }
+        if (fromInclusive != null) {
+            conditions.add("created_at >= :fromInclusive");
+        }
+        if (toExclusive != null) {
+            conditions.add("created_at < :toExclusive");
+        }
+        if (afterCreatedAt != null) {
+            conditions.add(afterId == null
+                    ? "created_at < :afterCreatedAt"
+                    : "(created_at < :afterCreatedAt or (created_at = :afterCreatedAt and id < :afterId))");
+        }
+
+        String sql = SQL_SELECT_SUMMARY
+                + (conditions.isEmpty() ? "" : "where " + String.join("\n  and ", conditions) + "\n")
+                + SQL_ORDER_BY_NEWEST
+                + "limit :limit\n";
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql).bind("limit", limit);
+
+        if (customerId != null) {
+            spec = spec.bind("customerId", customerId);
+        }
+        if (fromInclusive != null) {
+            spec = spec.bind("fromInclusive", fromInclusive);
+        }
+        if (toExclusive != null) {
+            spec = spec.bind("toExclusive", toExclusive);
+        }
+        if (afterCreatedAt != null) {
+            spec = spec.bind("afterCreatedAt", afterCreatedAt);
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            spec = spec.bind("afterId", afterId);
+        }
+        return spec.map(OrderSummaryReadRepository::toSummaryDto).all();
+    }
+
+    private static OrderSummaryDto toSummaryDto(Readable row) {
+        return new OrderSummaryDto(
+                row.get("id", String.class),
+                row.get("customer_id", String.class),
+                row.get("status", String.class),
+                row.get("total_amount", BigDecimal.class),
+                row.get("currency", String.class),
+                row.get("created_at", Instant.class)
+        );
+    }
+}
@@ -18,4 +18,10 @@ public interface OrderReadService {
             int limit,
             String cursor
     );
+
+    Flux<OrderSummaryDto> export(
+            String customerId,
+            LocalDate fromDate,
+            LocalDate toDate
+    );
 }
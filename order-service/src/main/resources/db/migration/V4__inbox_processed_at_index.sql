@@ -0,0 +1,3 @@
+-- Lets the inbox retention job delete the oldest rows by range instead of scanning the table.
+create index idx_inbox_processed_at
+    on inbox_processed (processed_at);
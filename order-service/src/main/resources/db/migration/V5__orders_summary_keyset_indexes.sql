@@ -0,0 +1,8 @@
+-- Keyset pagination of order summaries: (created_at desc, id desc) with an optional customer filter.
+-- Covering: every column the list query reads is in the index (id is appended to InnoDB secondary
+-- indexes anyway), so pages never touch the clustered rows.
+create index idx_orders_customer_summary
+    on orders (customer_id, created_at, id, status, total_amount, currency);
+
+create index idx_orders_created_summary
+    on orders (created_at, id, customer_id, status, total_amount, currency);
@@ -0,0 +1,6 @@
+-- Payment outcome projected from payment.events.v1, so one order read answers order and payment state.
+alter table orders
+    add column payment_status varchar(30) null,
+    add column payment_id varchar(36) null,
+    add column payment_failure_reason varchar(255) null,
+    add column payment_updated_at timestamp null;
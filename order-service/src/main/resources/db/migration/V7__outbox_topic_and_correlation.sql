@@ -0,0 +1,16 @@
+-- The shared outbox relay sends every row to its own topic with its correlation id as a header.
+alter table outbox_event
+    add column topic varchar(200) null,
+    add column correlation_id varchar(100) null;
+
+update outbox_event
+set topic = 'order.events.v1'
+where topic is null;
+
+update outbox_event e
+    join orders o on o.id = e.aggregate_id
+set e.correlation_id = o.correlation_id
+where e.correlation_id is null;
+
+alter table outbox_event
+    modify column topic varchar(200) not null;
@@ -5,13 +5,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import rs.master.o2c.order.api.dto.OrderSummaryDto;
 import rs.master.o2c.order.config.SecurityConfig;
+import rs.master.o2c.order.impl.OrderReadServiceImpl;
 import rs.master.o2c.order.observability.CorrelationIdWebFilter;
-import rs.master.o2c.order.persistence.entity.OrderEntity;
 import rs.master.o2c.order.persistence.repository.OrderRepository;
+import rs.master.o2c.order.persistence.repository.OrderSummaryReadRepository;
 
 import java.math.BigDecimal;
 import java.time.Instant;
@@ -20,11 +23,15 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockJwt;
 
 @WebFluxTest(controllers = OrderQueryController.class)
-@Import({SecurityConfig.class, CorrelationIdWebFilter.class})
+@Import({SecurityConfig.class, CorrelationIdWebFilter.class, OrderReadServiceImpl.class})
 @SuppressWarnings({"null", "removal"})
 class OrderQueryControllerTest {
 
@@ -34,133 +41,169 @@ class OrderQueryControllerTest {
     @MockBean
     private OrderRepository orderRepository;
 
+    @MockBean
+    private OrderSummaryReadRepository orderSummaryReadRepository;
+
+    @MockBean
+    private ReactiveJwtDecoder reactiveJwtDecoder;
+
     @Test
     void list_shouldReturn400_whenLimitIsZero() {
-        webTestClient.get()
+        webTestClient.mutateWith(mockJwt()).get()
                 .uri("/orders?limit=0")
                 .exchange()
                 .expectStatus().isBadRequest();
 
-        verifyNoInteractions(orderRepository);
+        verifyNoInteractions(orderRepository, orderSummaryReadRepository);
     }
 
     @Test
     void list_shouldReturn400_whenLimitIsGreaterThan200() {
-        webTestClient.get()
+        webTestClient.mutateWith(mockJwt()).get()
                 .uri("/orders?limit=201")
                 .exchange()
                 .expectStatus().isBadRequest();
 
-        verifyNoInteractions(orderRepository);
+        verifyNoInteractions(orderRepository, orderSummaryReadRepository);
     }
 
     @Test
     void list_shouldReturn400_whenCursorIsInvalid() {
-        webTestClient.get()
+        webTestClient.mutateWith(mockJwt()).get()
                 .uri("/orders?cursor=not-an-instant")
                 .exchange()
                 .expectStatus().isBadRequest();
 
-        verifyNoInteractions(orderRepository);
+        verifyNoInteractions(orderRepository, orderSummaryReadRepository);
     }
 
     @Test
     void list_shouldReturn400_whenCustomerIdIsInvalidUuid() {
-        webTestClient.get()
+        webTestClient.mutateWith(mockJwt()).get()
                 .uri("/orders?customerId=not-a-uuid")
                 .exchange()
                 .expectStatus().isBadRequest();
 
-        verifyNoInteractions(orderRepository);
+        verifyNoInteractions(orderRepository, orderSummaryReadRepository);
     }
 
     @Test
     void list_shouldReturn400_whenFromDateIsInvalid() {
-        webTestClient.get()
+        webTestClient.mutateWith(mockJwt()).get()
                 .uri("/orders?fromDate=2026-13-01")
                 .exchange()
                 .expectStatus().isBadRequest();
 
-        verifyNoInteractions(orderRepository);
+        verifyNoInteractions(orderRepository, orderSummaryReadRepository);
     }
 
     @Test
     void list_shouldReturn400_whenToDateIsInvalid() {
-        webTestClient.get()
+        webTestClient.mutateWith(mockJwt()).get()
                 .uri("/orders?toDate=2026-02-30")
                 .exchange()
                 .expectStatus().isBadRequest();
 
-        verifyNoInteractions(orderRepository);
+        verifyNoInteractions(orderRepository, orderSummaryReadRepository);
     }
 
     @Test
     void list_shouldDefaultLimitTo50_whenLimitMissing() {
-        List<OrderEntity> many = new ArrayList<>();
-        for (int i = 0; i < 60; i++) {
-            many.add(new OrderEntity(
+        List<OrderSummaryDto> page = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            page.add(new OrderSummaryDto(
                     UUID.randomUUID().toString(),
                     UUID.randomUUID().toString(),
                     "CREATED",
                     new BigDecimal("10.00"),
                     "USD",
-                    Instant.parse("2026-01-01T00:00:00Z").plusSeconds(i),
-                    null
+                    Instant.parse("2026-01-01T00:00:00Z").plusSeconds(60 - i)
             ));
         }
 
-        when(orderRepository.findAll()).thenReturn(Flux.fromIterable(many));
+        when(orderSummaryReadRepository.findPage(isNull(), isNull(), isNull(), isNull(), isNull(), eq(50)))
+                .thenReturn(Flux.fromIterable(page));
 
-        webTestClient.get()
+        webTestClient.mutateWith(mockJwt()).get()
                 .uri("/orders")
                 .exchange()
                 .expectStatus().isOk()
                 .expectBody()
                 .jsonPath("$.length()").isEqualTo(50);
 
-        verify(orderRepository).findAll();
-        verify(orderRepository, never()).findByCustomerId(anyString());
+        verify(orderSummaryReadRepository).findPage(isNull(), isNull(), isNull(), isNull(), isNull(), eq(50));
+        verifyNoInteractions(orderRepository);
     }
 
     @Test
     void list_shouldAllowLimit200Boundary() {
-        when(orderRepository.findAll()).thenReturn(Flux.empty());
+        when(orderSummaryReadRepository.findPage(any(), any(), any(), any(), any(), anyInt())).thenReturn(Flux.empty());
 
-        webTestClient.get()
+        webTestClient.mutateWith(mockJwt()).get()
                 .uri("/orders?limit=200")
                 .exchange()
                 .expectStatus().isOk();
 
-        verify(orderRepository).findAll();
+        verify(orderSummaryReadRepository).findPage(isNull(), isNull(), isNull(), isNull(), isNull(), eq(200));
+    }
+
+    @Test
+    void list_shouldPassCompositeCursor_toKeysetQuery() {
+        String lastId = UUID.randomUUID().toString();
+
+        when(orderSummaryReadRepository.findPage(any(), any(), any(), any(), any(), anyInt())).thenReturn(Flux.empty());
+
+        webTestClient.mutateWith(mockJwt()).get()
+                .uri("/orders?limit=10&cursor=2026-01-04T00:00:00Z," + lastId)
+                .exchange()
+                .expectStatus().isOk();
+
+        verify(orderSummaryReadRepository).findPage(
+                isNull(), isNull(), isNull(), eq(Instant.parse("2026-01-04T00:00:00Z")), eq(lastId), eq(10));
+    }
+
+    @Test
+    void list_shouldReturn400_whenCursorOrderIdIsInvalid() {
+        webTestClient.mutateWith(mockJwt()).get()
+                .uri("/orders?cursor=2026-01-04T00:00:00Z,not-a-uuid")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(orderRepository, orderSummaryReadRepository);
     }
 
     @Test
     void list_shouldReturn200_andListOfOrderSummaryDto_onHappyPath() {
         String customerId = UUID.randomUUID().toString();
 
-        OrderEntity o1 = new OrderEntity(
+        OrderSummaryDto o1 = new OrderSummaryDto(
                 UUID.randomUUID().toString(),
                 customerId,
                 "CREATED",
                 new BigDecimal("12.34"),
                 "USD",
-                Instant.parse("2026-01-03T10:00:00Z"),
-                null
+                Instant.parse("2026-01-03T10:00:00Z")
         );
 
-        OrderEntity o2 = new OrderEntity(
+        OrderSummaryDto o2 = new OrderSummaryDto(
                 UUID.randomUUID().toString(),
                 customerId,
                 "CREATED",
                 new BigDecimal("45.67"),
                 "USD",
-                Instant.parse("2026-01-02T10:00:00Z"),
-                null
+                Instant.parse("2026-01-02T10:00:00Z")
         );
 
-        when(orderRepository.findByCustomerId(customerId)).thenReturn(Flux.just(o1, o2));
+        when(orderSummaryReadRepository.findPage(
+                customerId,
+                Instant.parse("2026-01-01T00:00:00Z"),
+                Instant.parse("2026-01-04T00:00:00Z"),
+                Instant.parse("2026-01-04T00:00:00Z"),
+                null,
+                2
+        )).thenReturn(Flux.just(o1, o2));
 
-        webTestClient.get()
+        webTestClient.mutateWith(mockJwt()).get()
                 .uri(uriBuilder -> uriBuilder
                         .path("/orders")
                         .queryParam("customerId", customerId)
@@ -180,7 +223,48 @@ class OrderQueryControllerTest {
                     assertThat(body.get(0).customerId()).isEqualTo(customerId);
                 });
 
-        verify(orderRepository).findByCustomerId(customerId);
-        verify(orderRepository, never()).findAll();
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void export_shouldStreamNdjson_withFiltersPassedToStreamingQuery() {
+        String customerId = UUID.randomUUID().toString();
+
+        OrderSummaryDto o1 = new OrderSummaryDto(
+                UUID.randomUUID().toString(),
+                customerId,
+                "CONFIRMED",
+                new BigDecimal("12.34"),
+                "USD",
+                Instant.parse("2026-01-03T10:00:00Z")
+        );
+
+        when(orderSummaryReadRepository.streamAll(
+                customerId,
+                Instant.parse("2026-01-01T00:00:00Z"),
+                Instant.parse("2026-01-04T00:00:00Z")
+        )).thenReturn(Flux.just(o1));
+
+        webTestClient.mutateWith(mockJwt()).get()
+                .uri("/orders/export?customerId=" + customerId + "&fromDate=2026-01-01&toDate=2026-01-03")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(OrderSummaryDto.class)
+                .hasSize(1);
+
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void export_shouldReturn400_whenCustomerIdIsInvalidUuid() {
+        webTestClient.mutateWith(mockJwt()).get()
+                .uri("/orders/export?customerId=not-a-uuid")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verifyNoInteractions(orderRepository, orderSummaryReadRepository);
     }
 }
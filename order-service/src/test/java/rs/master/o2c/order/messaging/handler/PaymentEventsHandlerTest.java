@@ -0,0 +1,150 @@
+package rs.master.o2c.order.messaging.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import rs.master.o2c.events.EventEnvelope;
+import rs.master.o2c.events.EventTypes;
+import rs.master.o2c.events.ProducerNames;
+import rs.master.o2c.events.checkout.CheckoutCompleted;
+import rs.master.o2c.events.payment.PaymentCompleted;
+import rs.master.o2c.events.payment.PaymentFailed;
+import rs.master.o2c.events.payment.PaymentStatus;
+import rs.master.o2c.infra.inbox.InboxDeduplicator;
+import rs.master.o2c.order.persistence.repository.OrderRepository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PaymentEventsHandlerTest {
+
+    private static final String ORDER_ID = "o-1";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final Set<String> processed = new HashSet<>();
+
+    /**
+     * Stands in for the orders row: applies the projection unless the stored payment status is one of
+     * the settled ones, the same guard the UPDATE in OrderRepository#projectPayment applies.
+     */
+    private final Map<String, Projection> projections = new HashMap<>();
+
+    private PaymentEventsHandler handler;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        InboxDeduplicator inboxDeduplicator = new InboxDeduplicator(
+                "test", 10, id -> Mono.fromCallable(() -> processed.add(id)), new SimpleMeterRegistry());
+        handler = new PaymentEventsHandler(objectMapper, orderRepository, inboxDeduplicator);
+
+        when(orderRepository.projectPayment(anyString(), anyCollection(), anyString(), any(), any(), any(Instant.class)))
+                .thenAnswer(inv -> Mono.fromCallable(() -> {
+                    Projection current = projections.get(inv.<String>getArgument(0));
+                    if (current != null && inv.<Collection<String>>getArgument(1).contains(current.status())) {
+                        return false;
+                    }
+                    projections.put(inv.getArgument(0), new Projection(
+                            inv.getArgument(2), inv.getArgument(3), inv.getArgument(4)));
+                    return true;
+                }));
+    }
+
+    @Test
+    void handle_shouldProjectTheFirstCompletedPayment() throws Exception {
+        StepVerifier.create(handler.handle(completed("p-1"))).verifyComplete();
+
+        assertEquals(new Projection(PaymentStatus.SUCCEEDED, "p-1", null), projections.get(ORDER_ID));
+    }
+
+    @Test
+    void handle_shouldKeepTheFirstSuccessWhenAnotherPaymentCompletesLater() throws Exception {
+        StepVerifier.create(handler.handle(completed("p-1"))).verifyComplete();
+        StepVerifier.create(handler.handle(completed("p-2"))).verifyComplete();
+
+        assertEquals(new Projection(PaymentStatus.SUCCEEDED, "p-1", null), projections.get(ORDER_ID));
+    }
+
+    @Test
+    void handle_shouldIgnoreAFailureAfterThePaymentSettled() throws Exception {
+        StepVerifier.create(handler.handle(completed("p-1"))).verifyComplete();
+        StepVerifier.create(handler.handle(failed("p-0", "timeout"))).verifyComplete();
+
+        assertEquals(new Projection(PaymentStatus.SUCCEEDED, "p-1", null), projections.get(ORDER_ID));
+    }
+
+    @Test
+    void handle_shouldLetASuccessfulRetryReplaceAFailure() throws Exception {
+        StepVerifier.create(handler.handle(failed("p-1", "declined"))).verifyComplete();
+        assertEquals(new Projection(PaymentStatus.FAILED, "p-1", "declined"), projections.get(ORDER_ID));
+
+        StepVerifier.create(handler.handle(completed("p-2"))).verifyComplete();
+        assertEquals(new Projection(PaymentStatus.SUCCEEDED, "p-2", null), projections.get(ORDER_ID));
+    }
+
+    @Test
+    void handle_shouldProjectARedeliveredEventOnlyOnce() throws Exception {
+        byte[] payload = completed("p-1");
+
+        StepVerifier.create(handler.handle(payload)).verifyComplete();
+        StepVerifier.create(handler.handle(payload)).verifyComplete();
+
+        verify(orderRepository, times(1))
+                .projectPayment(anyString(), anyCollection(), anyString(), any(), any(), any(Instant.class));
+    }
+
+    @Test
+    void handle_shouldIgnoreNonPaymentEvents() throws Exception {
+        byte[] payload = objectMapper.writeValueAsBytes(envelope(
+                EventTypes.CHECKOUT_COMPLETED, new CheckoutCompleted("ch-1", ORDER_ID, "c-1")));
+
+        StepVerifier.create(handler.handle(payload)).verifyComplete();
+
+        verifyNoInteractions(orderRepository);
+        assertNull(projections.get(ORDER_ID));
+    }
+
+    private byte[] completed(String paymentId) throws Exception {
+        return objectMapper.writeValueAsBytes(envelope(EventTypes.PAYMENT_COMPLETED,
+                new PaymentCompleted(paymentId, "ch-1", ORDER_ID, new BigDecimal("25.00"), "EUR")));
+    }
+
+    private byte[] failed(String paymentId, String reason) throws Exception {
+        return objectMapper.writeValueAsBytes(envelope(EventTypes.PAYMENT_FAILED,
+                new PaymentFailed(paymentId, "ch-1", ORDER_ID, reason)));
+    }
+
+    private static <T> EventEnvelope<T> envelope(String eventType, T payload) {
+        return new EventEnvelope<>(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                null,
+                eventType,
+                1,
+                Instant.now(),
+                ProducerNames.PAYMENT_SERVICE,
+                ORDER_ID,
+                payload
+        );
+    }
+
+    private record Projection(String status, String paymentId, String failureReason) {}
+}
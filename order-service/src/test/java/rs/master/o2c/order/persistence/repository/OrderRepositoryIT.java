@@ -0,0 +1,121 @@
+package rs.master.o2c.order.persistence.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+import rs.master.o2c.events.order.OrderStatus;
+import rs.master.o2c.events.payment.PaymentStatus;
+import rs.master.o2c.order.persistence.entity.OrderEntity;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Runs against the local MySQL (see application-local.yaml), migrated by Flyway.
+ */
+@DataR2dbcTest
+@ActiveProfiles("local")
+class OrderRepositoryIT {
+
+    private static final List<String> SETTLED = List.of(PaymentStatus.SUCCEEDED);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Test
+    void projectPayment_shouldApplyTheFirstOutcome() {
+        String orderId = newOrder();
+        Instant at = now();
+
+        StepVerifier.create(orderRepository.projectPayment(orderId, SETTLED, PaymentStatus.SUCCEEDED, "p-1", null, at))
+                .expectNext(true)
+                .verifyComplete();
+
+        StepVerifier.create(orderRepository.findById(orderId))
+                .assertNext(order -> {
+                    assertEquals(PaymentStatus.SUCCEEDED, order.paymentStatus());
+                    assertEquals("p-1", order.paymentId());
+                    assertNull(order.paymentFailureReason());
+                    assertEquals(at, order.paymentUpdatedAt());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void projectPayment_shouldIgnoreAnyOutcomeAfterTheFirstSuccess() {
+        String orderId = newOrder();
+
+        StepVerifier.create(orderRepository.projectPayment(orderId, SETTLED, PaymentStatus.SUCCEEDED, "p-1", null, now()))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(orderRepository.projectPayment(orderId, SETTLED, PaymentStatus.FAILED, "p-0", "timeout", now()))
+                .expectNext(false)
+                .verifyComplete();
+        StepVerifier.create(orderRepository.projectPayment(orderId, SETTLED, PaymentStatus.SUCCEEDED, "p-2", null, now()))
+                .expectNext(false)
+                .verifyComplete();
+
+        StepVerifier.create(orderRepository.findById(orderId))
+                .assertNext(order -> {
+                    assertEquals(PaymentStatus.SUCCEEDED, order.paymentStatus());
+                    assertEquals("p-1", order.paymentId());
+                    assertNull(order.paymentFailureReason());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void projectPayment_shouldLetASuccessReplaceAFailure() {
+        String orderId = newOrder();
+
+        StepVerifier.create(orderRepository.projectPayment(orderId, SETTLED, PaymentStatus.FAILED, "p-1", "declined", now()))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(orderRepository.projectPayment(orderId, SETTLED, PaymentStatus.SUCCEEDED, "p-2", null, now()))
+                .expectNext(true)
+                .verifyComplete();
+
+        StepVerifier.create(orderRepository.findById(orderId))
+                .assertNext(order -> {
+                    assertEquals(PaymentStatus.SUCCEEDED, order.paymentStatus());
+                    assertEquals("p-2", order.paymentId());
+                    assertNull(order.paymentFailureReason());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void projectPayment_shouldReportAMissingOrder() {
+        StepVerifier.create(orderRepository.projectPayment(UUID.randomUUID().toString(), SETTLED, PaymentStatus.SUCCEEDED, "p-1", null, now()))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    private String newOrder() {
+        String orderId = UUID.randomUUID().toString();
+
+        orderRepository.save(new OrderEntity(
+                orderId,
+                UUID.randomUUID().toString(),
+                OrderStatus.CREATED,
+                new BigDecimal("25.00"),
+                "EUR",
+                now(),
+                UUID.randomUUID().toString()
+        )).block();
+
+        return orderId;
+    }
+
+    private static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+}
@@ -0,0 +1,71 @@
+package rs.master.o2c.order.persistence.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import rs.master.o2c.order.api.dto.OrderSummaryDto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OrderSummaryReadRepositoryTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final OrderSummaryReadRepository repository =
+            spy(new OrderSummaryReadRepository(mock(DatabaseClient.class)));
+
+    @Test
+    void streamAll_shouldFollowTheKeysetCursorUntilAShortPage() {
+        doReturn(Flux.just(summary("o-5", 5), summary("o-4", 4)))
+                .when(repository).findPage("c-1", null, null, null, null, 2);
+        doReturn(Flux.just(summary("o-3", 3), summary("o-2", 2)))
+                .when(repository).findPage("c-1", null, null, T0.plusSeconds(4), "o-4", 2);
+        doReturn(Flux.just(summary("o-1", 1)))
+                .when(repository).findPage("c-1", null, null, T0.plusSeconds(2), "o-2", 2);
+
+        StepVerifier.create(repository.streamAll("c-1", null, null, 2).map(OrderSummaryDto::orderId))
+                .expectNext("o-5", "o-4", "o-3", "o-2", "o-1")
+                .verifyComplete();
+
+        verify(repository, times(3)).findPage(any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void streamAll_shouldNotQueryAheadOfDemand() {
+        List<String> queried = new CopyOnWriteArrayList<>();
+        doReturn(page(queried, "first", summary("o-5", 5), summary("o-4", 4)))
+                .when(repository).findPage(any(), any(), any(), isNull(), isNull(), eq(2));
+        doReturn(page(queried, "second", summary("o-3", 3), summary("o-2", 2)))
+                .when(repository).findPage(any(), any(), any(), eq(T0.plusSeconds(4)), eq("o-4"), eq(2));
+        doReturn(page(queried, "third", summary("o-1", 1)))
+                .when(repository).findPage(any(), any(), any(), eq(T0.plusSeconds(2)), eq("o-2"), eq(2));
+
+        StepVerifier.create(repository.streamAll(null, null, null, 2), 1)
+                .expectNextCount(1)
+                .then(() -> assertThat(queried).containsExactly("first", "second"))
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(4)
+                .verifyComplete();
+
+        assertThat(queried).containsExactly("first", "second", "third");
+    }
+
+    private static Flux<OrderSummaryDto> page(List<String> queried, String name, OrderSummaryDto... rows) {
+        return Flux.defer(() -> {
+            queried.add(name);
+            return Flux.just(rows);
+        });
+    }
+
+    private static OrderSummaryDto summary(String orderId, int second) {
+        return new OrderSummaryDto(orderId, "c-1", "CREATED", new BigDecimal("10.00"), "EUR", T0.plusSeconds(second));
+    }
+}
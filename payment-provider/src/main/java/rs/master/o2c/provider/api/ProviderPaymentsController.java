@@ -1,6 +1,8 @@
 package rs.master.o2c.provider.api;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 
 import jakarta.validation.Valid;
@@ -29,9 +31,25 @@ import rs.master.o2c.provider.scheduling.ProviderCallbackTask;
 @Validated
 public class ProviderPaymentsController {
 
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private static final int IDEMPOTENCY_CACHE_SIZE = 10_000;
+
     private final ProviderProperties properties;
     private final ProviderCallbackQueue callbackQueue;
 
+    /**
+     * Recent responses by idempotency key: a repeated key gets the original payment back and no second
+     * callback, like a real provider deduplicating retried requests.
+     */
+    private final Map<String, CreatePaymentResponse> responsesByIdempotencyKey =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CreatePaymentResponse> eldest) {
+                    return size() > IDEMPOTENCY_CACHE_SIZE;
+                }
+            };
+
     public ProviderPaymentsController(ProviderProperties properties, ProviderCallbackQueue callbackQueue) {
         this.properties = properties;
         this.callbackQueue = callbackQueue;
@@ -41,8 +59,28 @@ public class ProviderPaymentsController {
     @ResponseStatus(HttpStatus.ACCEPTED)
     public Mono<CreatePaymentResponse> createPayment(
             @Valid @RequestBody CreatePaymentRequest request,
-            @RequestHeader(value = CorrelationHeaders.X_CORRELATION_ID, required = false) String correlationId
+            @RequestHeader(value = CorrelationHeaders.X_CORRELATION_ID, required = false) String correlationId,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
     ) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return Mono.just(create(request, correlationId));
+        }
+
+        String key = idempotencyKey.trim();
+        CreatePaymentResponse response;
+        synchronized (responsesByIdempotencyKey) {
+            CreatePaymentResponse existing = responsesByIdempotencyKey.get(key);
+            if (existing != null) {
+                log.info("provider intent replayed providerPaymentId={} idempotencyKey={}", existing.providerPaymentId(), key);
+                return Mono.just(existing);
+            }
+            response = create(request, correlationId);
+            responsesByIdempotencyKey.put(key, response);
+        }
+        return Mono.just(response);
+    }
+
+    private CreatePaymentResponse create(CreatePaymentRequest request, String correlationId) {
         UUID providerPaymentId = UUID.randomUUID();
 
         String normalizedCorrelationId = (correlationId == null || correlationId.isBlank())
@@ -71,7 +109,7 @@ public class ProviderPaymentsController {
                 normalizedCorrelationId
         );
 
-        return Mono.just(new CreatePaymentResponse(providerPaymentId.toString(), "ACCEPTED"));
+        return new CreatePaymentResponse(providerPaymentId.toString(), "ACCEPTED");
     }
 
     public record CreatePaymentRequest(
@@ -3,10 +3,14 @@ package rs.master.o2c.payment;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import rs.master.o2c.payment.config.PaymentRequestsConsumerProperties;
 import rs.master.o2c.payment.provider.PaymentProviderProperties;
 
 @SpringBootApplication
-@EnableConfigurationProperties(PaymentProviderProperties.class)
+@EnableConfigurationProperties({
+        PaymentProviderProperties.class,
+        PaymentRequestsConsumerProperties.class
+})
 public class PaymentServiceApplication {
 
     public static void main(String[] args) {
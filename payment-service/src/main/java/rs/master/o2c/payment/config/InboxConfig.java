@@ -0,0 +1,14 @@
+package rs.master.o2c.payment.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import rs.master.o2c.infra.inbox.InboxConfiguration;
+
+/**
+ * Payment requests are deduplicated in inbox_processed by the shared inbox (inbox.*).
+ * Each handler's inbox row and state change commit in one transaction.
+ */
+@Configuration
+@Import(InboxConfiguration.class)
+public class InboxConfig {
+}
@@ -0,0 +1,14 @@
+package rs.master.o2c.payment.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import rs.master.o2c.infra.outbox.OutboxConfiguration;
+
+/**
+ * PaymentCompleted and PaymentFailed are staged in outbox_event together with the payment state and
+ * relayed by the shared outbox relay (outbox.relay.*, outbox.retention.*).
+ */
+@Configuration
+@Import(OutboxConfiguration.class)
+public class OutboxConfig {
+}
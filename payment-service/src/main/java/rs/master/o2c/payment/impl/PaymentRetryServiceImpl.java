@@ -1,7 +1,6 @@
 package rs.master.o2c.payment.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
@@ -16,6 +15,7 @@ import rs.master.o2c.events.EventEnvelope;
 import rs.master.o2c.events.EventTypes;
 import rs.master.o2c.events.ProducerNames;
 import rs.master.o2c.events.TopicNames;
+import rs.master.o2c.events.codec.EventEnvelopeCodec;
 import rs.master.o2c.events.payment.PaymentRequested;
 import rs.master.o2c.payment.api.dto.RetryPaymentRequest;
 import rs.master.o2c.payment.service.PaymentRetryService;
@@ -46,17 +46,17 @@ public class PaymentRetryServiceImpl implements PaymentRetryService {
             """;
 
     private final DatabaseClient databaseClient;
-    private final ReactiveKafkaProducerTemplate<String, String> producer;
-    private final ObjectMapper objectMapper;
+    private final ReactiveKafkaProducerTemplate<String, byte[]> producer;
+    private final EventEnvelopeCodec codec;
 
     public PaymentRetryServiceImpl(
             DatabaseClient databaseClient,
-            ReactiveKafkaProducerTemplate<String, String> producer,
-            ObjectMapper objectMapper
+            ReactiveKafkaProducerTemplate<String, byte[]> producer,
+            EventEnvelopeCodec codec
     ) {
         this.databaseClient = databaseClient;
         this.producer = producer;
-        this.objectMapper = objectMapper;
+        this.codec = codec;
     }
 
     @Override
@@ -122,7 +122,7 @@ public class PaymentRetryServiceImpl implements PaymentRetryService {
         return Mono.fromCallable(() -> toJsonPayload(request, correlationId, info))
                 .subscribeOn(Schedulers.boundedElastic())
                 .flatMap(json -> {
-                    ProducerRecord<String, String> record = new ProducerRecord<>(
+                    ProducerRecord<String, byte[]> record = new ProducerRecord<>(
                             TopicNames.PAYMENT_REQUESTS_V1,
                             request.orderId().toString(),
                             json
@@ -139,7 +139,7 @@ public class PaymentRetryServiceImpl implements PaymentRetryService {
                 });
     }
 
-    private String toJsonPayload(RetryPaymentRequest request, String correlationId, PaymentInfo info) throws JsonProcessingException {
+    private byte[] toJsonPayload(RetryPaymentRequest request, String correlationId, PaymentInfo info) throws JsonProcessingException {
         UUID stableMessageId = request.retryRequestId();
         UUID parsedCorrelationId = parseCorrelationIdOrNull(correlationId);
 
@@ -161,7 +161,7 @@ public class PaymentRetryServiceImpl implements PaymentRetryService {
                 )
         );
 
-        return objectMapper.writeValueAsString(envelope);
+        return codec.writeBytes(envelope);
     }
 
     private static UUID parseCorrelationIdOrNull(String correlationId) {
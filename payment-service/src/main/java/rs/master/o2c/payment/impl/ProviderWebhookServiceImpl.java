@@ -1,6 +1,5 @@
 package rs.master.o2c.payment.impl;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
@@ -8,6 +7,7 @@ import reactor.core.scheduler.Schedulers;
 import rs.master.o2c.events.EventEnvelope;
 import rs.master.o2c.events.EventTypes;
 import rs.master.o2c.events.ProducerNames;
+import rs.master.o2c.events.codec.EventEnvelopeCodec;
 import rs.master.o2c.events.payment.PaymentCompleted;
 import rs.master.o2c.events.payment.PaymentFailed;
 import rs.master.o2c.events.payment.PaymentStatus;
@@ -28,18 +28,18 @@ public class ProviderWebhookServiceImpl implements ProviderWebhookService {
     private final PaymentAttemptRepository paymentAttemptRepository;
     private final PaymentRepository paymentRepository;
     private final PaymentEventPublisher paymentEventPublisher;
-    private final ObjectMapper objectMapper;
+    private final EventEnvelopeCodec codec;
 
     public ProviderWebhookServiceImpl(
             PaymentAttemptRepository paymentAttemptRepository,
             PaymentRepository paymentRepository,
             PaymentEventPublisher paymentEventPublisher,
-            ObjectMapper objectMapper
+            EventEnvelopeCodec codec
     ) {
         this.paymentAttemptRepository = paymentAttemptRepository;
         this.paymentRepository = paymentRepository;
         this.paymentEventPublisher = paymentEventPublisher;
-        this.objectMapper = objectMapper;
+        this.codec = codec;
     }
 
     @Override
@@ -129,7 +129,7 @@ public class ProviderWebhookServiceImpl implements ProviderWebhookService {
     }
 
     private Mono<Void> publishCompleted(PaymentEntity payment, UUID correlationId) {
-        return Mono.fromCallable(() -> objectMapper.writeValueAsString(
+        return Mono.fromCallable(() -> codec.writeBytes(
                         new EventEnvelope<>(
                                 UUID.randomUUID(),
                                 correlationId,
@@ -155,7 +155,7 @@ public class ProviderWebhookServiceImpl implements ProviderWebhookService {
     private Mono<Void> publishFailed(PaymentEntity payment, UUID correlationId) {
         String reason = (payment.failureReason() == null || payment.failureReason().isBlank()) ? "UNKNOWN" : payment.failureReason();
 
-        return Mono.fromCallable(() -> objectMapper.writeValueAsString(
+        return Mono.fromCallable(() -> codec.writeBytes(
                         new EventEnvelope<>(
                                 UUID.randomUUID(),
                                 correlationId,
@@ -0,0 +1,82 @@
+package rs.master.o2c.payment.kafka;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import rs.master.o2c.events.AggregateTypes;
+import rs.master.o2c.events.EventEnvelope;
+import rs.master.o2c.events.EventTypes;
+import rs.master.o2c.events.ProducerNames;
+import rs.master.o2c.events.TopicNames;
+import rs.master.o2c.events.codec.EventEnvelopeCodec;
+import rs.master.o2c.events.payment.PaymentCompleted;
+import rs.master.o2c.events.payment.PaymentFailed;
+import rs.master.o2c.infra.outbox.OutboxRecord;
+import rs.master.o2c.infra.outbox.OutboxStore;
+import rs.master.o2c.payment.persistence.entity.PaymentEntity;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Stages payment outcome events in outbox_event. Callers run it inside the transaction that changes
+ * the payment, so the event is relayed exactly when that change commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentEventOutbox {
+
+    private final EventEnvelopeCodec codec;
+    private final OutboxStore outboxStore;
+
+    public Mono<Void> stageCompleted(PaymentEntity payment, UUID correlationId, UUID causationId) {
+        return stage(EventTypes.PAYMENT_COMPLETED, payment, correlationId, causationId, new PaymentCompleted(
+                payment.id(),
+                payment.checkoutId(),
+                payment.orderId(),
+                payment.totalAmount(),
+                payment.currency()
+        ));
+    }
+
+    public Mono<Void> stageFailed(PaymentEntity payment, String reason, UUID correlationId, UUID causationId) {
+        return stage(EventTypes.PAYMENT_FAILED, payment, correlationId, causationId, new PaymentFailed(
+                payment.id(),
+                payment.checkoutId(),
+                payment.orderId(),
+                reason
+        ));
+    }
+
+    private Mono<Void> stage(String eventType, PaymentEntity payment, UUID correlationId, UUID causationId, Object event) {
+        return Mono.fromCallable(() -> {
+                    EventEnvelope<Object> envelope = new EventEnvelope<>(
+                            UUID.randomUUID(),
+                            correlationId,
+                            causationId,
+                            eventType,
+                            1,
+                            Instant.now(),
+                            ProducerNames.PAYMENT_SERVICE,
+                            payment.orderId(),
+                            event
+                    );
+
+                    return new OutboxRecord(
+                            envelope.messageId().toString(),
+                            AggregateTypes.PAYMENT,
+                            payment.orderId(),
+                            eventType,
+                            TopicNames.PAYMENT_EVENTS_V1,
+                            correlationId == null ? null : correlationId.toString(),
+                            codec.write(envelope),
+                            envelope.occurredAt()
+                    );
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(row -> outboxStore.insertAll(List.of(row)))
+                .then();
+    }
+}
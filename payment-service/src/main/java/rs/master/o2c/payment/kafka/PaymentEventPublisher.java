@@ -10,9 +10,9 @@ import rs.master.o2c.events.TopicNames;
 @RequiredArgsConstructor
 public class PaymentEventPublisher {
 
-    private final ReactiveKafkaProducerTemplate<String, String> producer;
+    private final ReactiveKafkaProducerTemplate<String, byte[]> producer;
 
-    public Mono<Void> publishPaymentEvent(String key, String jsonPayload) {
+    public Mono<Void> publishPaymentEvent(String key, byte[] jsonPayload) {
         return producer
                 .send(TopicNames.PAYMENT_EVENTS_V1, key, jsonPayload)
                 .then();
@@ -1,10 +1,8 @@
 package rs.master.o2c.payment.messaging.handler;
 
-import java.time.Instant;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.DuplicateKeyException;
@@ -13,49 +11,50 @@ import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 import rs.master.o2c.events.EventEnvelope;
 import rs.master.o2c.events.EventTypes;
-import rs.master.o2c.events.ProducerNames;
-import rs.master.o2c.events.payment.PaymentCompleted;
-import rs.master.o2c.events.payment.PaymentFailed;
+import rs.master.o2c.events.codec.EventEnvelopeCodec;
 import rs.master.o2c.events.payment.PaymentRequested;
 import rs.master.o2c.events.payment.PaymentStatus;
 import rs.master.o2c.events.payment.PaymentProvider;
-import rs.master.o2c.payment.kafka.PaymentEventPublisher;
-import rs.master.o2c.payment.persistence.repository.PaymentAttemptRepository;
-import rs.master.o2c.payment.persistence.entity.InboxProcessedEntity;
+import rs.master.o2c.infra.inbox.InboxDeduplicator;
+import rs.master.o2c.payment.kafka.PaymentEventOutbox;
 import rs.master.o2c.payment.persistence.entity.PaymentEntity;
-import rs.master.o2c.payment.persistence.repository.InboxProcessedRepository;
 import rs.master.o2c.payment.persistence.repository.PaymentRepository;
-import rs.master.o2c.payment.provider.PaymentProviderClient;
+import rs.master.o2c.payment.provider.PaymentAttemptDispatcher;
 import rs.master.o2c.payment.provider.PaymentProviderProperties;
 
 @Component
 @RequiredArgsConstructor
 public class PaymentRequestsHandler {
 
-    private final ObjectMapper objectMapper;
+    private final EventEnvelopeCodec codec;
     private final PaymentRepository paymentRepository;
-        private final PaymentAttemptRepository paymentAttemptRepository;
-    private final InboxProcessedRepository inboxProcessedRepository;
-    private final PaymentEventPublisher paymentEventPublisher;
+    private final InboxDeduplicator inboxDeduplicator;
+    private final PaymentEventOutbox paymentEventOutbox;
         private final PaymentProviderProperties paymentProviderProperties;
-        private final PaymentProviderClient paymentProviderClient;
+        private final PaymentAttemptDispatcher attemptDispatcher;
 
-    public Mono<Void> handle(String payload) {
+    /**
+     * The inbox row, the attempt and any outcome event commit in one transaction with no network call
+     * inside it; a provider attempt is dispatched only after that commit.
+     */
+    public Mono<Void> handle(byte[] payload) {
         return Mono.fromCallable(() ->
-                        objectMapper.readValue(payload, new TypeReference<EventEnvelope<PaymentRequested>>() {})
+                        codec.read(payload, PaymentRequested.class)
                 )
                 .subscribeOn(Schedulers.boundedElastic())
                 .flatMap(envelope -> {
                     String messageId = envelope.messageId().toString();
+                    AtomicReference<PaymentAttemptDispatcher.Attempt> committed = new AtomicReference<>();
 
-                    return inboxProcessedRepository
-                            .save(new InboxProcessedEntity(messageId, Instant.now()))
-                            .then(process(envelope))
-                            .onErrorResume(DuplicateKeyException.class, e -> Mono.empty());
+                    return inboxDeduplicator
+                            .once(messageId, () -> process(envelope).doOnNext(committed::set).then())
+                            .then(Mono.defer(() -> committed.get() == null
+                                    ? Mono.<Void>empty()
+                                    : attemptDispatcher.dispatch(committed.get())));
                 });
     }
 
-    private Mono<Void> process(EventEnvelope<PaymentRequested> envelope) {
+    private Mono<PaymentAttemptDispatcher.Attempt> process(EventEnvelope<PaymentRequested> envelope) {
         if (!EventTypes.PAYMENT_REQUESTED.equals(envelope.eventType())) {
             return Mono.empty();
         }
@@ -65,12 +64,12 @@ public class PaymentRequestsHandler {
         return findOrCreatePayment(ev)
                 .flatMap(saved ->
                         createAttempt(saved.id(), ev)
-                                .flatMap(attemptNo -> attemptPayment(saved, envelope, ev, attemptNo)
-                                        .onErrorResume(ex -> markFailed(saved, envelope, ev, attemptNo, ex.getMessage()))
+                                .flatMap(attemptNo -> paymentProviderProperties.enabled()
+                                        ? markPending(saved, envelope, ev, attemptNo)
+                                        : settleWithoutProvider(saved, envelope, ev).then(Mono.<PaymentAttemptDispatcher.Attempt>empty())
                                 )
                 )
-                .onErrorResume(DataIntegrityViolationException.class, e -> Mono.empty())
-                .then();
+                .onErrorResume(DataIntegrityViolationException.class, e -> Mono.empty());
     }
 
     private Mono<PaymentEntity> findOrCreatePayment(PaymentRequested ev) {
@@ -148,17 +147,11 @@ public class PaymentRequestsHandler {
                                 );
         }
 
-        private Mono<Void> attemptPayment(PaymentEntity saved, EventEnvelope<PaymentRequested> envelope, PaymentRequested ev, int attemptNo) {
-                if (!paymentProviderProperties.enabled()) {
-                        if ("FAIL".equalsIgnoreCase(ev.currency())) {
-                                return Mono.error(new RuntimeException("Forced FAIL for testing"));
-                        }
-
-                        return markSucceededAndPublishCompleted(saved, envelope, ev);
-                }
-
-                String correlationId = envelope.correlationId() == null ? UUID.randomUUID().toString() : envelope.correlationId().toString();
-
+        /**
+         * Provider attempts stay PENDING here; the call itself happens in {@link PaymentAttemptDispatcher}
+         * once this transaction has committed.
+         */
+        private Mono<PaymentAttemptDispatcher.Attempt> markPending(PaymentEntity saved, EventEnvelope<PaymentRequested> envelope, PaymentRequested ev, int attemptNo) {
                 // On retry, reset payment back to PENDING until webhook arrives.
                 if (!PaymentStatus.PENDING.equals(saved.status())) {
                         saved.markPending();
@@ -170,95 +163,38 @@ public class PaymentRequestsHandler {
 
                 return paymentRepository
                                 .save(saved)
-                                .then(paymentProviderClient.createPayment(
-                                                correlationId,
+                                .thenReturn(new PaymentAttemptDispatcher.Attempt(
+                                                saved.id(),
+                                                attemptNo,
                                                 ev.orderId(),
                                                 ev.checkoutId(),
                                                 ev.amount(),
                                                 ev.currency(),
-                                                attemptNo
-                                ))
-                                .flatMap(resp -> paymentAttemptRepository
-                                                .setProviderPaymentId(saved.id(), attemptNo, resp.providerPaymentId())
-                                                .then()
-                                )
-                                .then();
+                                                envelope.correlationId(),
+                                                envelope.messageId()
+                                ));
         }
 
-    private Mono<Void> markSucceededAndPublishCompleted(PaymentEntity saved, EventEnvelope<PaymentRequested> envelope, PaymentRequested ev) {
-        saved.markSucceeded("MOCK-" + UUID.randomUUID());
-        saved.markNotNew();
-
-        return paymentRepository
-                .save(saved)
-                .then(publishCompleted(envelope, ev, saved.id()));
-    }
-
-    private Mono<Void> markFailed(PaymentEntity saved, EventEnvelope<PaymentRequested> envelope, PaymentRequested ev, int attemptNo, String reason) {
-        String safeReason = (reason == null || reason.isBlank()) ? "UNKNOWN" : reason;
-
-        saved.markFailed(safeReason);
+    /**
+     * Without the provider the outcome is known at once: the attempt row already carries it, and the
+     * payment and its outcome event are written in the same transaction.
+     */
+    private Mono<Void> settleWithoutProvider(PaymentEntity saved, EventEnvelope<PaymentRequested> envelope, PaymentRequested ev) {
         saved.markNotNew();
 
-        Mono<Void> updateAttempt = paymentProviderProperties.enabled()
-                ? paymentAttemptRepository
-                        .updateStatusAndReasonByPaymentIdAndAttemptNo(saved.id(), attemptNo, PaymentStatus.FAILED, safeReason)
-                        .then()
-                : Mono.empty();
+        if ("FAIL".equalsIgnoreCase(ev.currency())) {
+            String reason = "Forced FAIL for testing";
+            saved.markFailed(reason);
 
-        return updateAttempt
-                .then(paymentRepository.save(saved))
-                .then(publishFailed(envelope, ev, saved.id(), safeReason));
-    }
+            return paymentRepository
+                    .save(saved)
+                    .then(paymentEventOutbox.stageFailed(saved, reason, envelope.correlationId(), envelope.messageId()));
+        }
 
-    private Mono<Void> publishCompleted(EventEnvelope<PaymentRequested> envelope, PaymentRequested ev, String paymentId) {
-        return Mono.fromCallable(() ->
-                        objectMapper.writeValueAsString(
-                                new EventEnvelope<>(
-                                        UUID.randomUUID(),
-                                        envelope.correlationId(),
-                                        envelope.messageId(),
-                                        EventTypes.PAYMENT_COMPLETED,
-                                        1,
-                                        Instant.now(),
-                                        ProducerNames.PAYMENT_SERVICE,
-                                        ev.orderId(),
-                                        new PaymentCompleted(
-                                                paymentId,
-                                                ev.checkoutId(),
-                                                ev.orderId(),
-                                                ev.amount(),
-                                                ev.currency()
-                                        )
-                                )
-                        )
-                )
-                .subscribeOn(Schedulers.boundedElastic())
-                .flatMap(json -> paymentEventPublisher.publishPaymentEvent(ev.orderId(), json));
-    }
+        saved.markSucceeded("MOCK-" + UUID.randomUUID());
 
-    private Mono<Void> publishFailed(EventEnvelope<PaymentRequested> envelope, PaymentRequested ev, String paymentId, String reason) {
-        return Mono.fromCallable(() ->
-                        objectMapper.writeValueAsString(
-                                new EventEnvelope<>(
-                                        UUID.randomUUID(),
-                                        envelope.correlationId(),
-                                        envelope.messageId(),
-                                        EventTypes.PAYMENT_FAILED,
-                                        1,
-                                        Instant.now(),
-                                        ProducerNames.PAYMENT_SERVICE,
-                                        ev.orderId(),
-                                        new PaymentFailed(
-                                                paymentId,
-                                                ev.checkoutId(),
-                                                ev.orderId(),
-                                                reason
-                                        )
-                                )
-                        )
-                )
-                .subscribeOn(Schedulers.boundedElastic())
-                .flatMap(json -> paymentEventPublisher.publishPaymentEvent(ev.orderId(), json));
+        return paymentRepository
+                .save(saved)
+                .then(paymentEventOutbox.stageCompleted(saved, envelope.correlationId(), envelope.messageId()));
     }
-}
\ No newline at end of file
+}
@@ -16,16 +16,16 @@ public class PaymentRequestsDlqPublisherImpl implements PaymentRequestsDlqPublis
 
     private static final Logger log = LoggerFactory.getLogger(PaymentRequestsDlqPublisherImpl.class);
 
-    private final ReactiveKafkaProducerTemplate<String, String> producer;
+    private final ReactiveKafkaProducerTemplate<String, byte[]> producer;
 
-    public PaymentRequestsDlqPublisherImpl(ReactiveKafkaProducerTemplate<String, String> producer) {
+    public PaymentRequestsDlqPublisherImpl(ReactiveKafkaProducerTemplate<String, byte[]> producer) {
         this.producer = producer;
     }
 
     @Override
-    public Mono<Void> publish(ReceiverRecord<String, String> record, Throwable cause) {
+    public Mono<Void> publish(ReceiverRecord<String, byte[]> record, Throwable cause) {
         return Mono.defer(() -> {
-            ProducerRecord<String, String> out = new ProducerRecord<>(
+            ProducerRecord<String, byte[]> out = new ProducerRecord<>(
                     TopicNames.PAYMENT_REQUESTS_DLQ_V1,
                     record.key(),
                     record.value()
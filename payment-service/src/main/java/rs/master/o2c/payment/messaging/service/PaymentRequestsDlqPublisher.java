@@ -5,5 +5,5 @@ import reactor.core.publisher.Mono;
 
 public interface PaymentRequestsDlqPublisher {
 
-    Mono<Void> publish(ReceiverRecord<String, String> record, Throwable cause);
+    Mono<Void> publish(ReceiverRecord<String, byte[]> record, Throwable cause);
 }
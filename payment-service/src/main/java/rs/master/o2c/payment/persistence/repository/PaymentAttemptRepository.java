@@ -35,4 +35,17 @@ public interface PaymentAttemptRepository extends ReactiveCrudRepository<Payment
         where payment_id = :paymentId and attempt_no = :attemptNo
         """)
     Mono<Integer> updateStatusAndReasonByPaymentIdAndAttemptNo(String paymentId, int attemptNo, String status, String reason);
-}
\ No newline at end of file
+
+    /**
+     * Settles an attempt only while it is still PENDING, so a failure recorded after the provider call
+     * never overwrites an outcome the webhook already delivered. Returns the number of rows changed.
+     */
+    @Query("""
+        update payment_attempt
+        set status = :status,
+            reason = :reason,
+            updated_at = current_timestamp
+        where payment_id = :paymentId and attempt_no = :attemptNo and status = 'PENDING'
+        """)
+    Mono<Integer> updateStatusAndReasonIfPending(String paymentId, int attemptNo, String status, String reason);
+}
@@ -0,0 +1,194 @@
+package rs.master.o2c.payment.provider;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import rs.master.o2c.events.payment.PaymentStatus;
+import rs.master.o2c.payment.kafka.PaymentEventOutbox;
+import rs.master.o2c.payment.persistence.repository.PaymentAttemptRepository;
+import rs.master.o2c.payment.persistence.repository.PaymentRepository;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Calls the payment provider for attempts that are already committed, outside any transaction.
+ *
+ * The request handler commits its inbox row and a PENDING attempt first and dispatches afterwards, so
+ * a rolled-back transaction never leaves a charge behind and a redelivered request never reaches the
+ * provider again. Every call carries "paymentId:attemptNo" as idempotency key. An attempt committed
+ * but never dispatched (the instance stopped in between) is sent again by a periodic sweep once it is
+ * older than payment.provider.redispatch-after; the key makes a repeated call safe.
+ *
+ * A rejected call fails the attempt and stages PaymentFailed in one transaction.
+ */
+@Slf4j
+@Component
+public class PaymentAttemptDispatcher {
+
+    private static final int REDISPATCH_BATCH_SIZE = 100;
+
+    private static final String SQL_FIND_UNDISPATCHED = """
+            select a.payment_id, a.attempt_no, p.order_id, p.checkout_id, p.total_amount, p.currency
+            from payment_attempt a
+            join payment p on p.id = a.payment_id
+            where a.status = 'PENDING'
+              and a.provider_payment_id is null
+              and a.created_at < timestampadd(second, -:olderThanSeconds, current_timestamp)
+            order by a.created_at
+            limit :limit
+            """;
+
+    private final PaymentProviderClient providerClient;
+    private final PaymentProviderProperties properties;
+    private final PaymentRepository paymentRepository;
+    private final PaymentAttemptRepository attemptRepository;
+    private final PaymentEventOutbox paymentEventOutbox;
+    private final TransactionalOperator transactionalOperator;
+    private final DatabaseClient databaseClient;
+
+    private volatile Disposable sweep;
+
+    public PaymentAttemptDispatcher(
+            PaymentProviderClient providerClient,
+            PaymentProviderProperties properties,
+            PaymentRepository paymentRepository,
+            PaymentAttemptRepository attemptRepository,
+            PaymentEventOutbox paymentEventOutbox,
+            TransactionalOperator transactionalOperator,
+            DatabaseClient databaseClient
+    ) {
+        this.providerClient = providerClient;
+        this.properties = properties;
+        this.paymentRepository = paymentRepository;
+        this.attemptRepository = attemptRepository;
+        this.paymentEventOutbox = paymentEventOutbox;
+        this.transactionalOperator = transactionalOperator;
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Never errors: anything that could not be recorded is left PENDING for the sweep.
+     */
+    public Mono<Void> dispatch(Attempt attempt) {
+        String correlationId = attempt.correlationId() == null
+                ? UUID.randomUUID().toString()
+                : attempt.correlationId().toString();
+
+        return providerClient
+                .createPayment(
+                        correlationId,
+                        attempt.idempotencyKey(),
+                        attempt.orderId(),
+                        attempt.checkoutId(),
+                        attempt.amount(),
+                        attempt.currency(),
+                        attempt.attemptNo()
+                )
+                .onErrorResume(e -> fail(attempt, e.getMessage()).then(Mono.empty()))
+                .flatMap(resp -> attemptRepository.setProviderPaymentId(
+                        attempt.paymentId(),
+                        attempt.attemptNo(),
+                        resp.providerPaymentId()
+                ))
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("payment attempt dispatch incomplete paymentId={} attemptNo={} correlationId={}",
+                            attempt.paymentId(), attempt.attemptNo(), correlationId, e);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> fail(Attempt attempt, String reason) {
+        String safeReason = (reason == null || reason.isBlank()) ? "UNKNOWN" : reason;
+
+        Mono<Void> work = attemptRepository
+                .updateStatusAndReasonIfPending(attempt.paymentId(), attempt.attemptNo(), PaymentStatus.FAILED, safeReason)
+                .filter(updated -> updated > 0)
+                .flatMap(updated -> paymentRepository.findById(attempt.paymentId()))
+                // The webhook may have settled the payment already; only a pending payment fails here.
+                .filter(payment -> PaymentStatus.PENDING.equals(payment.status()))
+                .flatMap(payment -> {
+                    payment.markFailed(safeReason);
+                    payment.markNotNew();
+
+                    return paymentRepository
+                            .save(payment)
+                            .then(paymentEventOutbox.stageFailed(payment, safeReason, attempt.correlationId(), attempt.causationId()));
+                });
+
+        return transactionalOperator.transactional(work);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        sweep = Flux.interval(properties.redispatchInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> redispatchStale()
+                        .onErrorResume(e -> {
+                            log.warn("payment attempt redispatch sweep failed", e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = sweep;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    Mono<Void> redispatchStale() {
+        return databaseClient
+                .sql(SQL_FIND_UNDISPATCHED)
+                .bind("olderThanSeconds", properties.redispatchAfter().toSeconds())
+                .bind("limit", REDISPATCH_BATCH_SIZE)
+                .map(row -> new Attempt(
+                        row.get("payment_id", String.class),
+                        row.get("attempt_no", Integer.class),
+                        row.get("order_id", String.class),
+                        row.get("checkout_id", String.class),
+                        row.get("total_amount", BigDecimal.class),
+                        row.get("currency", String.class),
+                        null,
+                        null
+                ))
+                .all()
+                .doOnNext(attempt -> log.info("redispatching payment attempt paymentId={} attemptNo={}",
+                        attempt.paymentId(), attempt.attemptNo()))
+                .concatMap(this::dispatch)
+                .then();
+    }
+
+    /**
+     * A committed provider attempt; correlationId and causationId are carried into PaymentFailed and
+     * are unknown for attempts picked up by the sweep.
+     */
+    public record Attempt(
+            String paymentId,
+            int attemptNo,
+            String orderId,
+            String checkoutId,
+            BigDecimal amount,
+            String currency,
+            UUID correlationId,
+            UUID causationId
+    ) {
+        String idempotencyKey() {
+            return paymentId + ":" + attemptNo;
+        }
+    }
+}
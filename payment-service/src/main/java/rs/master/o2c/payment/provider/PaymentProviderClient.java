@@ -13,6 +13,11 @@ import rs.master.o2c.events.CorrelationHeaders;
 @Component
 public class PaymentProviderClient {
 
+    /**
+     * The provider answers a repeated key with the original payment instead of creating another one.
+     */
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final WebClient providerWebClient;
 
     public PaymentProviderClient(WebClient providerWebClient) {
@@ -21,6 +26,7 @@ public class PaymentProviderClient {
 
     public Mono<CreatePaymentResponse> createPayment(
             String correlationId,
+            String idempotencyKey,
             String orderId,
             String checkoutId,
             BigDecimal amount,
@@ -32,6 +38,7 @@ public class PaymentProviderClient {
                 .uri("/provider/payments")
                 .contentType(MediaType.APPLICATION_JSON)
                 .header(CorrelationHeaders.X_CORRELATION_ID, correlationId)
+                .header(IDEMPOTENCY_KEY, idempotencyKey)
                 .bodyValue(new CreatePaymentRequest(orderId, checkoutId, amount, currency, attemptNo))
                 .retrieve()
                 .bodyToMono(CreatePaymentResponse.class)
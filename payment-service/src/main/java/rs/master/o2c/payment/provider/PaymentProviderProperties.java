@@ -2,9 +2,25 @@ package rs.master.o2c.payment.provider;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
+/**
+ * redispatchAfter is how long a committed provider attempt may stay without a provider payment id
+ * before the redispatch sweep sends it again; keep it above the provider call timeout.
+ */
 @ConfigurationProperties(prefix = "payment.provider")
 public record PaymentProviderProperties(
         boolean enabled,
-        String baseUrl
+        String baseUrl,
+        Duration redispatchAfter,
+        Duration redispatchInterval
 ) {
+    public PaymentProviderProperties {
+        if (redispatchAfter == null || redispatchAfter.isNegative() || redispatchAfter.isZero()) {
+            redispatchAfter = Duration.ofMinutes(2);
+        }
+        if (redispatchInterval == null || redispatchInterval.isNegative() || redispatchInterval.isZero()) {
+            redispatchInterval = Duration.ofSeconds(30);
+        }
+    }
 }
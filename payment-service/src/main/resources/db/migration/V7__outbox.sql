@@ -0,0 +1,22 @@
+-- PaymentCompleted and PaymentFailed are written here in the same transaction as the payment state
+-- and relayed to Kafka by the shared common-infra OutboxRelay.
+create table if not exists outbox_event (
+    id char(36) not null,
+    aggregate_type varchar(50) not null,
+    aggregate_id varchar(36) not null,
+    event_type varchar(100) not null,
+    topic varchar(200) not null,
+    correlation_id varchar(100) null,
+    payload json not null,
+    created_at timestamp not null default current_timestamp,
+    published_at timestamp null,
+    locked_at timestamp null,
+    locked_by varchar(100) null,
+    primary key (id)
+);
+
+create index idx_outbox_unpublished_created
+    on outbox_event (published_at, created_at);
+
+create index idx_outbox_lock
+    on outbox_event (published_at, locked_at, created_at);
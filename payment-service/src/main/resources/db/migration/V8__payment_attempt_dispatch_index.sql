@@ -0,0 +1,3 @@
+-- Finds provider attempts that were committed but never reached the provider (no provider_payment_id yet).
+create index idx_attempt_undispatched
+    on payment_attempt (status, provider_payment_id, created_at);
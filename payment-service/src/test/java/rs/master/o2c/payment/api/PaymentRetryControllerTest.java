@@ -16,6 +16,7 @@ import reactor.core.publisher.Mono;
 import reactor.kafka.sender.SenderResult;
 import rs.master.o2c.events.CorrelationHeaders;
 import rs.master.o2c.payment.api.dto.RetryPaymentRequest;
+import rs.master.o2c.events.codec.EventCodecConfiguration;
 import rs.master.o2c.payment.config.SecurityConfig;
 import rs.master.o2c.payment.observability.CorrelationIdWebFilter;
 import rs.master.o2c.payment.impl.PaymentRetryServiceImpl;
@@ -34,7 +35,7 @@ import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockJwt;
 
 @WebFluxTest(controllers = PaymentRetryController.class)
-@Import({SecurityConfig.class, CorrelationIdWebFilter.class, PaymentRetryServiceImpl.class})
+@Import({SecurityConfig.class, CorrelationIdWebFilter.class, EventCodecConfiguration.class, PaymentRetryServiceImpl.class})
 @SuppressWarnings({"null", "removal"})
 class PaymentRetryControllerTest {
 
@@ -45,7 +46,7 @@ class PaymentRetryControllerTest {
     private DatabaseClient databaseClient;
 
     @MockBean
-    private ReactiveKafkaProducerTemplate<String, String> producer;
+    private ReactiveKafkaProducerTemplate<String, byte[]> producer;
 
         @MockBean
         private ReactiveJwtDecoder reactiveJwtDecoder;
@@ -78,7 +79,7 @@ class PaymentRetryControllerTest {
 
         @SuppressWarnings("unchecked")
         SenderResult<Void> senderResult = (SenderResult<Void>) mock(SenderResult.class);
-        when(producer.send(ArgumentMatchers.<ProducerRecord<String, String>>any()))
+        when(producer.send(ArgumentMatchers.<ProducerRecord<String, byte[]>>any()))
                 .thenReturn(Mono.just(senderResult));
 
         RetryPaymentRequest body = new RetryPaymentRequest(orderId, retryRequestId);
@@ -107,6 +108,6 @@ class PaymentRetryControllerTest {
                 .jsonPath("$.status").isEqualTo("ALREADY_ACCEPTED")
                 .jsonPath("$.retryRequestId").isEqualTo(retryRequestId.toString());
 
-                verify(producer, times(1)).send(ArgumentMatchers.<ProducerRecord<String, String>>any());
+                verify(producer, times(1)).send(ArgumentMatchers.<ProducerRecord<String, byte[]>>any());
     }
 }
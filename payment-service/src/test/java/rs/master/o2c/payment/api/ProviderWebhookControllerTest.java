@@ -11,6 +11,7 @@ import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Mono;
 import rs.master.o2c.events.payment.PaymentStatus;
+import rs.master.o2c.events.codec.EventCodecConfiguration;
 import rs.master.o2c.payment.config.SecurityConfig;
 import rs.master.o2c.payment.kafka.PaymentEventPublisher;
 import rs.master.o2c.payment.observability.CorrelationIdWebFilter;
@@ -29,7 +30,7 @@ import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @WebFluxTest(controllers = ProviderWebhookController.class)
-@Import({SecurityConfig.class, CorrelationIdWebFilter.class, ProviderWebhookServiceImpl.class})
+@Import({SecurityConfig.class, CorrelationIdWebFilter.class, EventCodecConfiguration.class, ProviderWebhookServiceImpl.class})
 @SuppressWarnings({"null", "removal"})
 class ProviderWebhookControllerTest {
 
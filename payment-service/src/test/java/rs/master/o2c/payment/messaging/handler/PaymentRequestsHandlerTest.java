@@ -0,0 +1,135 @@
+package rs.master.o2c.payment.messaging.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import rs.master.o2c.events.EventEnvelope;
+import rs.master.o2c.events.EventTypes;
+import rs.master.o2c.events.ProducerNames;
+import rs.master.o2c.events.codec.EventEnvelopeCodec;
+import rs.master.o2c.events.payment.PaymentRequested;
+import rs.master.o2c.events.payment.PaymentStatus;
+import rs.master.o2c.infra.inbox.InboxDeduplicator;
+import rs.master.o2c.payment.kafka.PaymentEventOutbox;
+import rs.master.o2c.payment.persistence.entity.PaymentEntity;
+import rs.master.o2c.payment.persistence.repository.PaymentRepository;
+import rs.master.o2c.payment.provider.PaymentAttemptDispatcher;
+import rs.master.o2c.payment.provider.PaymentProviderProperties;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PaymentRequestsHandlerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final PaymentRepository paymentRepository = mock(PaymentRepository.class);
+    private final PaymentEventOutbox paymentEventOutbox = mock(PaymentEventOutbox.class);
+    private final PaymentAttemptDispatcher attemptDispatcher = mock(PaymentAttemptDispatcher.class);
+    private final List<String> steps = new ArrayList<>();
+
+    @Test
+    void handle_shouldDispatchTheProviderCallOnlyAfterTheUnitOfWorkCommits() throws Exception {
+        stubPaymentWrites();
+        when(attemptDispatcher.dispatch(any())).thenAnswer(inv -> Mono.fromRunnable(() -> steps.add("dispatch")));
+
+        StepVerifier.create(handler(true, Mono.empty()).handle(paymentRequested("EUR"))).verifyComplete();
+
+        assertThat(steps).containsExactly("commit", "dispatch");
+
+        ArgumentCaptor<PaymentAttemptDispatcher.Attempt> attempt = ArgumentCaptor.forClass(PaymentAttemptDispatcher.Attempt.class);
+        verify(attemptDispatcher).dispatch(attempt.capture());
+        assertThat(attempt.getValue().attemptNo()).isEqualTo(1);
+        verify(paymentRepository).insertAttempt(anyString(), eq(1), eq(PaymentStatus.PENDING), isNull());
+        verifyNoInteractions(paymentEventOutbox);
+    }
+
+    @Test
+    void handle_shouldNotCallTheProviderWhenTheCommitFails() throws Exception {
+        stubPaymentWrites();
+
+        StepVerifier.create(handler(true, Mono.error(new IllegalStateException("commit failed")))
+                        .handle(paymentRequested("EUR")))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        verifyNoInteractions(attemptDispatcher);
+    }
+
+    @Test
+    void handle_shouldStageTheOutcomeInTheUnitOfWorkWhenTheProviderIsDisabled() throws Exception {
+        stubPaymentWrites();
+        when(paymentEventOutbox.stageCompleted(any(), any(), any()))
+                .thenAnswer(inv -> Mono.fromRunnable(() -> steps.add("stage")));
+
+        StepVerifier.create(handler(false, Mono.empty()).handle(paymentRequested("EUR"))).verifyComplete();
+
+        assertThat(steps).containsExactly("stage", "commit");
+        verifyNoInteractions(attemptDispatcher);
+    }
+
+    @Test
+    void handle_shouldIgnoreARedeliveredRequest() throws Exception {
+        byte[] payload = paymentRequested("EUR");
+        stubPaymentWrites();
+        when(attemptDispatcher.dispatch(any())).thenReturn(Mono.empty());
+        PaymentRequestsHandler handler = handler(true, Mono.empty());
+
+        StepVerifier.create(handler.handle(payload)).verifyComplete();
+        StepVerifier.create(handler.handle(payload)).verifyComplete();
+
+        verify(attemptDispatcher, times(1)).dispatch(any());
+    }
+
+    private PaymentRequestsHandler handler(boolean providerEnabled, Mono<Void> commit) {
+        InboxDeduplicator inboxDeduplicator = new InboxDeduplicator(
+                "test",
+                10,
+                id -> Mono.just(true),
+                work -> work.then(commit).then(Mono.fromRunnable(() -> steps.add("commit"))),
+                new SimpleMeterRegistry()
+        );
+
+        return new PaymentRequestsHandler(
+                new EventEnvelopeCodec(objectMapper),
+                paymentRepository,
+                inboxDeduplicator,
+                paymentEventOutbox,
+                new PaymentProviderProperties(providerEnabled, "http://provider", null, null),
+                attemptDispatcher
+        );
+    }
+
+    private void stubPaymentWrites() {
+        when(paymentRepository.findByCheckoutId(anyString())).thenReturn(Mono.empty());
+        when(paymentRepository.save(any(PaymentEntity.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(paymentRepository.findMaxAttemptNo(anyString())).thenReturn(Mono.just(0));
+        when(paymentRepository.insertAttempt(anyString(), anyInt(), anyString(), any())).thenReturn(Mono.just(1));
+    }
+
+    private byte[] paymentRequested(String currency) throws Exception {
+        String orderId = UUID.randomUUID().toString();
+
+        return objectMapper.writeValueAsBytes(new EventEnvelope<>(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                null,
+                EventTypes.PAYMENT_REQUESTED,
+                1,
+                Instant.now(),
+                ProducerNames.CHECKOUT_SERVICE,
+                orderId,
+                new PaymentRequested(UUID.randomUUID().toString(), orderId, "cust-1", new BigDecimal("25.00"), currency)
+        ));
+    }
+}
@@ -0,0 +1,39 @@
+package rs.master.o2c.timeline.api;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import rs.master.o2c.timeline.api.dto.TimelineEventDto;
+import rs.master.o2c.timeline.service.TimelineQueryService;
+
+/**
+ * The whole order-to-cash lifecycle of one order (order, checkout and payment steps) from one query.
+ */
+@RestController
+@RequestMapping("/o2c")
+public class TimelineController {
+
+    private final TimelineQueryService timelineQueryService;
+
+    public TimelineController(TimelineQueryService timelineQueryService) {
+        this.timelineQueryService = timelineQueryService;
+    }
+
+    @GetMapping("/{orderId}/timeline")
+    public Flux<TimelineEventDto> timeline(@PathVariable String orderId) {
+        return timelineQueryService.timeline(orderId);
+    }
+
+    /**
+     * Server-Sent Events with each new lifecycle step of the given orders (comma-separated ids), as it happens.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<TimelineEventDto>> stream(@RequestParam String orderIds) {
+        return timelineQueryService.stream(orderIds);
+    }
+}
@@ -0,0 +1,12 @@
+package rs.master.o2c.timeline.api.dto;
+
+import java.time.Instant;
+
+public record TimelineEventDto(
+        String orderId,
+        String source,
+        String type,
+        String status,
+        Instant at,
+        String failureReason
+) {}
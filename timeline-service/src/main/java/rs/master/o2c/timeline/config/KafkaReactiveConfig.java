@@ -0,0 +1,84 @@
+package rs.master.o2c.timeline.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.reactive.ReactiveKafkaConsumerTemplate;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.sender.SenderOptions;
+import rs.master.o2c.events.TopicNames;
+
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+public class KafkaReactiveConfig {
+
+    /**
+     * Every topic that contributes to an order's lifecycle.
+     */
+    static final List<String> SOURCE_TOPICS = List.of(
+            TopicNames.ORDER_EVENTS_V1,
+            TopicNames.CHECKOUT_EVENTS_V1,
+            TopicNames.PAYMENT_REQUESTS_V1,
+            TopicNames.PAYMENT_EVENTS_V1
+    );
+
+    @Bean
+    public ReactiveKafkaProducerTemplate<String, byte[]> reactiveKafkaProducerTemplate(
+            KafkaProperties properties
+    ) {
+        Map<String, Object> props = properties.buildProducerProperties();
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        return new ReactiveKafkaProducerTemplate<>(SenderOptions.create(props));
+    }
+
+    @Bean
+    public ReactiveKafkaConsumerTemplate<String, byte[]> timelineConsumerTemplate(
+            KafkaProperties properties,
+            TimelineConsumerProperties consumerProperties
+    ) {
+        Map<String, Object> props = properties.buildConsumerProperties();
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+
+        ReceiverOptions<String, byte[]> receiverOptions =
+                ReceiverOptions.<String, byte[]>create(props)
+                        .subscription(SOURCE_TOPICS);
+
+        receiverOptions = consumerProperties.toEngineOptions().applyTo(receiverOptions);
+
+        return new ReactiveKafkaConsumerTemplate<>(receiverOptions);
+    }
+
+    /**
+     * Feeds the live hub. Joins its own throwaway group from the latest offsets and never commits:
+     * it only pushes what happens while the instance is up, and durable history stays with the timeline table.
+     */
+    @Bean
+    public ReactiveKafkaConsumerTemplate<String, byte[]> timelineLiveConsumerTemplate(
+            KafkaProperties properties,
+            TimelineLiveProperties liveProperties,
+            @Value("${spring.application.name}") String applicationName
+    ) {
+        Map<String, Object> props = properties.buildConsumerProperties();
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, liveProperties.consumerGroupId(applicationName));
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+
+        ReceiverOptions<String, byte[]> receiverOptions =
+                ReceiverOptions.<String, byte[]>create(props)
+                        .subscription(SOURCE_TOPICS);
+
+        return new ReactiveKafkaConsumerTemplate<>(receiverOptions);
+    }
+}
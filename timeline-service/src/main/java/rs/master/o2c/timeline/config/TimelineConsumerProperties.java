@@ -0,0 +1,29 @@
+package rs.master.o2c.timeline.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import rs.master.o2c.infra.kafka.ConcurrencyMode;
+import rs.master.o2c.infra.kafka.ConsumerEngineOptions;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * No retry tiers: the source topics' retry tiers belong to their owning consumers, so failures are
+ * retried in place and then dead-lettered to {@link rs.master.o2c.events.TopicNames#TIMELINE_DLQ_V1}.
+ */
+@ConfigurationProperties(prefix = "timeline.consumer")
+public record TimelineConsumerProperties(
+        ConcurrencyMode mode,
+        int concurrency,
+        int maxInFlight,
+        Duration commitInterval,
+        int commitBatchSize,
+        int batchSize,
+        Duration batchWindow
+) {
+    public ConsumerEngineOptions toEngineOptions() {
+        return new ConsumerEngineOptions(
+                mode, concurrency, maxInFlight, commitInterval, commitBatchSize, List.of(), batchSize, batchWindow
+        );
+    }
+}
@@ -0,0 +1,36 @@
+package rs.master.o2c.timeline.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@ConfigurationProperties(prefix = "timeline.live")
+public record TimelineLiveProperties(
+        Boolean enabled,
+        int bufferSize,
+        Duration heartbeat,
+        int maxOrderIds
+) {
+    public TimelineLiveProperties {
+        if (enabled == null) {
+            enabled = true;
+        }
+        if (bufferSize <= 0) {
+            bufferSize = 256;
+        }
+        if (heartbeat == null || heartbeat.isNegative() || heartbeat.isZero()) {
+            heartbeat = Duration.ofSeconds(15);
+        }
+        if (maxOrderIds <= 0) {
+            maxOrderIds = 100;
+        }
+    }
+
+    /**
+     * Unique per instance: every instance must see every partition to serve its own subscribers.
+     */
+    public String consumerGroupId(String applicationName) {
+        return applicationName + "-live-" + UUID.randomUUID();
+    }
+}
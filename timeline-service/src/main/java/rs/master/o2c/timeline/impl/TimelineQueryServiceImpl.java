@@ -0,0 +1,112 @@
+package rs.master.o2c.timeline.impl;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import rs.master.o2c.timeline.api.dto.TimelineEventDto;
+import rs.master.o2c.timeline.config.TimelineLiveProperties;
+import rs.master.o2c.timeline.live.TimelineHub;
+import rs.master.o2c.timeline.persistence.entity.TimelineEntry;
+import rs.master.o2c.timeline.persistence.repository.TimelineEntryRepository;
+import rs.master.o2c.timeline.service.TimelineQueryService;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+public class TimelineQueryServiceImpl implements TimelineQueryService {
+
+    private final TimelineEntryRepository timelineEntryRepository;
+    private final TimelineHub timelineHub;
+    private final TimelineLiveProperties liveProperties;
+
+    public TimelineQueryServiceImpl(
+            TimelineEntryRepository timelineEntryRepository,
+            TimelineHub timelineHub,
+            TimelineLiveProperties liveProperties
+    ) {
+        this.timelineEntryRepository = timelineEntryRepository;
+        this.timelineHub = timelineHub;
+        this.liveProperties = liveProperties;
+    }
+
+    @Override
+    public Flux<TimelineEventDto> timeline(String orderId) {
+        String normalizedOrderId = normalizeOrderId(orderId);
+
+        return timelineEntryRepository
+                .findByOrderId(normalizedOrderId)
+                .map(TimelineQueryServiceImpl::toDto)
+                .switchIfEmpty(Flux.error(new ResponseStatusException(HttpStatus.NOT_FOUND, "timeline not found")));
+    }
+
+    /**
+     * Live status changes for the given orders; heartbeat comments keep idle connections open
+     * through proxies. Each event's id is the source message id, so clients can drop repeats.
+     * Events carry the order id and the new status, so clients apply them directly instead of
+     * re-reading the projections, which may not have caught up yet.
+     */
+    @Override
+    public Flux<ServerSentEvent<TimelineEventDto>> stream(String orderIds) {
+        Set<String> ids = parseOrderIds(orderIds);
+
+        Flux<ServerSentEvent<TimelineEventDto>> events = timelineHub.subscribe(ids)
+                .map(e -> ServerSentEvent.<TimelineEventDto>builder()
+                        .id(e.messageId())
+                        .data(toDto(e))
+                        .build());
+
+        Flux<ServerSentEvent<TimelineEventDto>> heartbeats = Flux.interval(liveProperties.heartbeat())
+                .map(tick -> ServerSentEvent.<TimelineEventDto>builder().comment("heartbeat").build());
+
+        return Flux.merge(events, heartbeats);
+    }
+
+    private Set<String> parseOrderIds(String orderIds) {
+        if (orderIds == null || orderIds.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "orderIds is required");
+        }
+
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String raw : orderIds.split(",")) {
+            String trimmed = raw == null ? "" : raw.trim();
+            if (trimmed.isEmpty()) continue;
+            try {
+                UUID.fromString(trimmed);
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "orderIds must be UUIDs");
+            }
+            distinct.add(trimmed);
+        }
+
+        if (distinct.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "orderIds must not be empty");
+        }
+        if (distinct.size() > liveProperties.maxOrderIds()) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST, "orderIds must contain at most " + liveProperties.maxOrderIds() + " ids");
+        }
+
+        return Set.copyOf(distinct);
+    }
+
+    private static TimelineEventDto toDto(TimelineEntry e) {
+        return new TimelineEventDto(e.orderId(), e.source(), e.eventType(), e.status(), e.occurredAt(), e.failureReason());
+    }
+
+    private static String normalizeOrderId(String orderId) {
+        if (orderId == null || orderId.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "orderId is required");
+        }
+
+        try {
+            UUID.fromString(orderId.trim());
+            return orderId.trim();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "orderId must be a UUID");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package rs.master.o2c.timeline.live;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import rs.master.o2c.timeline.config.TimelineLiveProperties;
+import rs.master.o2c.timeline.persistence.entity.TimelineEntry;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-memory fan-out of live timeline entries to SSE subscribers.
+ *
+ * Each subscriber gets its own bounded buffer: a slow client loses its oldest pending entries
+ * (counted in timeline.live.dropped) instead of holding up the feed or the other subscribers.
+ */
+@Component
+public class TimelineHub {
+
+    private final Sinks.Many<TimelineEntry> sink = Sinks.many().multicast().directBestEffort();
+    private final TimelineLiveProperties properties;
+    private final AtomicInteger subscribers = new AtomicInteger();
+    private final Counter dropped;
+
+    public TimelineHub(TimelineLiveProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+
+        this.dropped = Counter.builder("timeline.live.dropped")
+                .description("Live entries dropped for subscribers that could not keep up")
+                .register(meterRegistry);
+
+        Gauge.builder("timeline.live.subscribers", subscribers, AtomicInteger::get)
+                .description("Open live timeline subscriptions")
+                .register(meterRegistry);
+    }
+
+    public void publish(TimelineEntry entry) {
+        // The feed emits serially, so a failed emit only means nobody is subscribed right now.
+        sink.tryEmitNext(entry);
+    }
+
+    public Flux<TimelineEntry> subscribe(Set<String> orderIds) {
+        return sink.asFlux()
+                .filter(entry -> orderIds.contains(entry.orderId()))
+                .onBackpressureBuffer(
+                        properties.bufferSize(),
+                        ignored -> dropped.increment(),
+                        BufferOverflowStrategy.DROP_OLDEST
+                )
+                .doOnSubscribe(s -> subscribers.incrementAndGet())
+                .doFinally(signal -> subscribers.decrementAndGet());
+    }
+}
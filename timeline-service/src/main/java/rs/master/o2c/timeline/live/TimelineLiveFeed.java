@@ -0,0 +1,73 @@
+package rs.master.o2c.timeline.live;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.reactive.ReactiveKafkaConsumerTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import rs.master.o2c.infra.kafka.KafkaRetryPolicies;
+import rs.master.o2c.timeline.config.TimelineLiveProperties;
+import rs.master.o2c.timeline.messaging.mapper.TimelineEntryMapper;
+
+/**
+ * Pushes lifecycle events into the {@link TimelineHub} as they arrive on Kafka, independently of the
+ * durable timeline consumer, so subscribers see a status change without waiting for the database.
+ * Pushed entries are self-contained; clients must not treat them as a signal to re-query the
+ * order or timeline read models, which may still lag behind.
+ */
+@Component
+public class TimelineLiveFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(TimelineLiveFeed.class);
+
+    private final ReactiveKafkaConsumerTemplate<String, byte[]> liveConsumer;
+    private final TimelineEntryMapper mapper;
+    private final TimelineHub hub;
+    private final TimelineLiveProperties properties;
+
+    private volatile Disposable feed;
+
+    public TimelineLiveFeed(
+            @Qualifier("timelineLiveConsumerTemplate") ReactiveKafkaConsumerTemplate<String, byte[]> liveConsumer,
+            TimelineEntryMapper mapper,
+            TimelineHub hub,
+            TimelineLiveProperties properties
+    ) {
+        this.liveConsumer = liveConsumer;
+        this.mapper = mapper;
+        this.hub = hub;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        feed = liveConsumer.receive()
+                .concatMap(record -> Mono.fromCallable(() -> mapper.toEntry(record.value()))
+                        .doOnNext(hub::publish)
+                        .onErrorResume(e -> {
+                            log.debug("live timeline skipped unreadable record topic={} offset={}",
+                                    record.topic(), record.offset(), e);
+                            return Mono.empty();
+                        }))
+                .doOnError(e -> log.error("live timeline feed failed", e))
+                .retryWhen(KafkaRetryPolicies.streamRetry())
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = feed;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package rs.master.o2c.timeline.messaging.handler;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import rs.master.o2c.timeline.messaging.mapper.TimelineEntryMapper;
+import rs.master.o2c.timeline.persistence.entity.TimelineEntry;
+import rs.master.o2c.timeline.persistence.repository.TimelineEntryRepository;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns order, checkout and payment events into timeline entries. Redeliveries are absorbed by the
+ * insert itself (message id is the key), so no inbox lookup is needed.
+ */
+@Component
+@RequiredArgsConstructor
+public class TimelineEventsHandler {
+
+    private final TimelineEntryMapper timelineEntryMapper;
+    private final TimelineEntryRepository timelineEntryRepository;
+
+    public Mono<Void> handle(byte[] payload) {
+        return handleBatch(List.of(payload));
+    }
+
+    /**
+     * A micro-batch becomes one multi-row insert.
+     */
+    public Mono<Void> handleBatch(List<byte[]> payloads) {
+        return Mono.fromCallable(() -> toEntries(payloads))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(entries -> entries.isEmpty()
+                        ? Mono.empty()
+                        : timelineEntryRepository.insertIgnore(entries).then());
+    }
+
+    private List<TimelineEntry> toEntries(List<byte[]> payloads) throws IOException {
+        List<TimelineEntry> entries = new ArrayList<>(payloads.size());
+        for (byte[] payload : payloads) {
+            TimelineEntry entry = timelineEntryMapper.toEntry(payload);
+            if (entry != null) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,48 @@
+package rs.master.o2c.timeline.messaging.impl;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.reactive.ReactiveKafkaProducerTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.kafka.receiver.ReceiverRecord;
+import rs.master.o2c.events.TopicNames;
+import rs.master.o2c.infra.kafka.DlqRecordSupport;
+import rs.master.o2c.timeline.messaging.service.TimelineDlqPublisher;
+
+@Service
+public class TimelineDlqPublisherImpl implements TimelineDlqPublisher {
+
+    private static final Logger log = LoggerFactory.getLogger(TimelineDlqPublisherImpl.class);
+
+    private final ReactiveKafkaProducerTemplate<String, byte[]> producer;
+
+    public TimelineDlqPublisherImpl(ReactiveKafkaProducerTemplate<String, byte[]> producer) {
+        this.producer = producer;
+    }
+
+    @Override
+    public Mono<Void> publish(ReceiverRecord<String, byte[]> record, Throwable cause) {
+        return Mono.defer(() -> {
+            ProducerRecord<String, byte[]> out = new ProducerRecord<>(
+                    TopicNames.TIMELINE_DLQ_V1,
+                    record.key(),
+                    record.value()
+            );
+
+            DlqRecordSupport.enrich(out, record, cause);
+
+            return producer.send(out)
+                    .doOnSuccess(r -> log.warn(
+                            "Published to timeline DLQ topic={} partition={} offset={} key={} errorClass={}",
+                            TopicNames.TIMELINE_DLQ_V1,
+                            record.partition(),
+                            record.offset(),
+                            record.key(),
+                            cause.getClass().getName()
+                    ))
+                    .then();
+        });
+    }
+}
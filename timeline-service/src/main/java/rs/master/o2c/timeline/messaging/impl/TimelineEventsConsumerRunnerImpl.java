@@ -0,0 +1,43 @@
+package rs.master.o2c.timeline.messaging.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.kafka.core.reactive.ReactiveKafkaConsumerTemplate;
+import org.springframework.stereotype.Service;
+import reactor.kafka.receiver.ReceiverRecord;
+import rs.master.o2c.infra.kafka.ReactiveConsumerEngine;
+import rs.master.o2c.timeline.config.TimelineConsumerProperties;
+import rs.master.o2c.timeline.messaging.handler.TimelineEventsHandler;
+import rs.master.o2c.timeline.messaging.service.TimelineDlqPublisher;
+import rs.master.o2c.timeline.messaging.service.TimelineEventsConsumerRunner;
+
+@Service
+public class TimelineEventsConsumerRunnerImpl implements TimelineEventsConsumerRunner {
+
+    private final ReactiveKafkaConsumerTemplate<String, byte[]> timelineConsumerTemplate;
+    private final ReactiveConsumerEngine<String, byte[]> engine;
+
+    public TimelineEventsConsumerRunnerImpl(
+            @Qualifier("timelineConsumerTemplate") ReactiveKafkaConsumerTemplate<String, byte[]> timelineConsumerTemplate,
+            TimelineEventsHandler handler,
+            TimelineDlqPublisher dlqPublisher,
+            TimelineConsumerProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        this.timelineConsumerTemplate = timelineConsumerTemplate;
+        this.engine = new ReactiveConsumerEngine<>(
+                "timeline",
+                record -> handler.handle(record.value()),
+                records -> handler.handleBatch(records.stream().map(ReceiverRecord::value).toList()),
+                null,
+                dlqPublisher::publish,
+                properties.toEngineOptions(),
+                meterRegistry
+        );
+    }
+
+    @Override
+    public void start() {
+        engine.start(timelineConsumerTemplate.receive());
+    }
+}
@@ -0,0 +1,80 @@
+package rs.master.o2c.timeline.messaging.mapper;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import rs.master.o2c.events.EventTypes;
+import rs.master.o2c.events.checkout.CheckoutFailed;
+import rs.master.o2c.events.checkout.CheckoutStatus;
+import rs.master.o2c.events.order.OrderCreated;
+import rs.master.o2c.events.payment.PaymentFailed;
+import rs.master.o2c.events.payment.PaymentStatus;
+import rs.master.o2c.timeline.persistence.entity.TimelineEntry;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Maps an order, checkout or payment event envelope to its timeline entry; anything else maps to null.
+ */
+@Component
+@RequiredArgsConstructor
+public class TimelineEntryMapper {
+
+    public static final String SOURCE_ORDER = "ORDER";
+    public static final String SOURCE_CHECKOUT = "CHECKOUT";
+    public static final String SOURCE_PAYMENT = "PAYMENT";
+
+    private final ObjectMapper objectMapper;
+
+    public TimelineEntry toEntry(byte[] payload) throws IOException {
+        return toEntry(objectMapper.readTree(payload));
+    }
+
+    private TimelineEntry toEntry(JsonNode root) {
+        String eventType = text(root, "eventType");
+        String messageId = text(root, "messageId");
+        JsonNode payload = root.get("payload");
+
+        if (eventType == null || messageId == null || payload == null || payload.isNull()) {
+            return null;
+        }
+
+        String orderId = text(payload, "orderId");
+        if (orderId == null) {
+            return null;
+        }
+
+        Instant occurredAt = root.hasNonNull("occurredAt")
+                ? objectMapper.convertValue(root.get("occurredAt"), Instant.class)
+                : Instant.now();
+
+        return switch (eventType) {
+            case EventTypes.ORDER_CREATED -> {
+                OrderCreated ev = objectMapper.convertValue(payload, OrderCreated.class);
+                yield new TimelineEntry(messageId, orderId, SOURCE_ORDER, eventType, ev.status(), null, occurredAt);
+            }
+            case EventTypes.CHECKOUT_COMPLETED ->
+                    new TimelineEntry(messageId, orderId, SOURCE_CHECKOUT, eventType, CheckoutStatus.COMPLETED, null, occurredAt);
+            case EventTypes.CHECKOUT_FAILED -> {
+                CheckoutFailed ev = objectMapper.convertValue(payload, CheckoutFailed.class);
+                yield new TimelineEntry(messageId, orderId, SOURCE_CHECKOUT, eventType, CheckoutStatus.FAILED, ev.reason(), occurredAt);
+            }
+            case EventTypes.PAYMENT_REQUESTED ->
+                    new TimelineEntry(messageId, orderId, SOURCE_PAYMENT, eventType, PaymentStatus.PENDING, null, occurredAt);
+            case EventTypes.PAYMENT_COMPLETED ->
+                    new TimelineEntry(messageId, orderId, SOURCE_PAYMENT, eventType, PaymentStatus.SUCCEEDED, null, occurredAt);
+            case EventTypes.PAYMENT_FAILED -> {
+                PaymentFailed ev = objectMapper.convertValue(payload, PaymentFailed.class);
+                yield new TimelineEntry(messageId, orderId, SOURCE_PAYMENT, eventType, PaymentStatus.FAILED, ev.reason(), occurredAt);
+            }
+            default -> null;
+        };
+    }
+
+    private String text(JsonNode root, String field) {
+        JsonNode n = root.get(field);
+        return n == null || n.isNull() ? null : n.asText();
+    }
+}
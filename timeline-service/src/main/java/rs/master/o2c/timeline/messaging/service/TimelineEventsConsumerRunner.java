@@ -0,0 +1,6 @@
+package rs.master.o2c.timeline.messaging.service;
+
+public interface TimelineEventsConsumerRunner {
+
+    void start();
+}
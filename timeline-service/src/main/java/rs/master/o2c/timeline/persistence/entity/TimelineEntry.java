@@ -0,0 +1,17 @@
+package rs.master.o2c.timeline.persistence.entity;
+
+import java.time.Instant;
+
+/**
+ * One immutable row of an order's timeline; message_id is the source event's id and the primary key.
+ */
+public record TimelineEntry(
+        String messageId,
+        String orderId,
+        String source,
+        String eventType,
+        String status,
+        String failureReason,
+        Instant occurredAt
+) {
+}
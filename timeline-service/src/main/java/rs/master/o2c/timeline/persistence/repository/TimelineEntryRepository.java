@@ -0,0 +1,97 @@
+package rs.master.o2c.timeline.persistence.repository;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import rs.master.o2c.timeline.persistence.entity.TimelineEntry;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Append-only store of order timelines. Rows are keyed by the source message id, so inserting
+ * with INSERT IGNORE makes redelivered events no-ops without a separate inbox table.
+ */
+@Repository
+@RequiredArgsConstructor
+public class TimelineEntryRepository {
+
+    /**
+     * Served by idx_order_timeline_order (order_id, occurred_at), already in timeline order.
+     */
+    private static final String SQL_FIND_BY_ORDER_ID = """
+            select message_id, order_id, source, event_type, status, failure_reason, occurred_at
+            from order_timeline
+            where order_id = :orderId
+            order by occurred_at, message_id
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Emits the number of entries that were new.
+     */
+    public Mono<Integer> insertIgnore(List<TimelineEntry> entries) {
+        if (entries.isEmpty()) {
+            return Mono.just(0);
+        }
+
+        StringBuilder sql = new StringBuilder("""
+                insert ignore into order_timeline
+                    (message_id, order_id, source, event_type, status, failure_reason, occurred_at)
+                values
+                """);
+        for (int i = 0; i < entries.size(); i++) {
+            sql.append(i == 0 ? "    " : ",\n    ")
+                    .append("(:messageId").append(i)
+                    .append(", :orderId").append(i)
+                    .append(", :source").append(i)
+                    .append(", :eventType").append(i)
+                    .append(", :status").append(i)
+                    .append(", :failureReason").append(i)
+                    .append(", :occurredAt").append(i)
+                    .append(")");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+
+        for (int i = 0; i < entries.size(); i++) {
+            TimelineEntry e = entries.get(i);
+            spec = spec.bind("messageId" + i, e.messageId())
+                    .bind("orderId" + i, e.orderId())
+                    .bind("source" + i, e.source())
+                    .bind("eventType" + i, e.eventType())
+                    .bind("occurredAt" + i, e.occurredAt());
+            spec = e.status() == null ? spec.bindNull("status" + i, String.class) : spec.bind("status" + i, e.status());
+            spec = e.failureReason() == null
+                    ? spec.bindNull("failureReason" + i, String.class)
+                    : spec.bind("failureReason" + i, e.failureReason());
+        }
+
+        return spec.fetch()
+                .rowsUpdated()
+                .map(Long::intValue);
+    }
+
+    public Flux<TimelineEntry> findByOrderId(String orderId) {
+        return databaseClient.sql(SQL_FIND_BY_ORDER_ID)
+                .bind("orderId", orderId)
+                .map(TimelineEntryRepository::toEntry)
+                .all();
+    }
+
+    private static TimelineEntry toEntry(Readable row) {
+        return new TimelineEntry(
+                row.get("message_id", String.class),
+                row.get("order_id", String.class),
+                row.get("source", String.class),
+                row.get("event_type", String.class),
+                row.get("status", String.class),
+                row.get("failure_reason", String.class),
+                row.get("occurred_at", Instant.class)
+        );
+    }
+}
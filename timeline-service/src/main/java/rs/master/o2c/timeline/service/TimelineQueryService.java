@@ -0,0 +1,12 @@
+package rs.master.o2c.timeline.service;
+
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.publisher.Flux;
+import rs.master.o2c.timeline.api.dto.TimelineEventDto;
+
+public interface TimelineQueryService {
+
+    Flux<TimelineEventDto> timeline(String orderId);
+
+    Flux<ServerSentEvent<TimelineEventDto>> stream(String orderIds);
+}
@@ -0,0 +1,15 @@
+create table if not exists order_timeline (
+    message_id varchar(100) not null,
+    order_id varchar(36) not null,
+    source varchar(20) not null,
+    event_type varchar(100) not null,
+    status varchar(30) null,
+    failure_reason varchar(255) null,
+    occurred_at timestamp(3) not null,
+    recorded_at timestamp not null default current_timestamp,
+    primary key (message_id)
+    );
+
+-- One range read per timeline, returned in order without a sort.
+create index idx_order_timeline_order
+    on order_timeline (order_id, occurred_at, message_id);
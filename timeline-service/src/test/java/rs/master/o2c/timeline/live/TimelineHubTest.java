@@ -0,0 +1,57 @@
+package rs.master.o2c.timeline.live;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+import rs.master.o2c.timeline.config.TimelineLiveProperties;
+import rs.master.o2c.timeline.persistence.entity.TimelineEntry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TimelineHubTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TimelineHub hub = new TimelineHub(
+            new TimelineLiveProperties(true, 2, Duration.ofSeconds(15), 100),
+            meterRegistry
+    );
+
+    @Test
+    void subscribe_shouldOnlyDeliverEntriesOfRequestedOrders() {
+        StepVerifier.create(hub.subscribe(Set.of("o-1")), 10)
+                .then(() -> {
+                    hub.publish(entry("m-1", "o-2"));
+                    hub.publish(entry("m-2", "o-1"));
+                })
+                .expectNextMatches(e -> e.messageId().equals("m-2"))
+                .thenCancel()
+                .verify();
+
+        assertEquals(0.0, meterRegistry.get("timeline.live.subscribers").gauge().value());
+    }
+
+    @Test
+    void subscribe_shouldDropOldestEntries_whenSubscriberFallsBehind() {
+        StepVerifier.create(hub.subscribe(Set.of("o-1")), 0)
+                .then(() -> {
+                    hub.publish(entry("m-1", "o-1"));
+                    hub.publish(entry("m-2", "o-1"));
+                    hub.publish(entry("m-3", "o-1"));
+                })
+                .thenRequest(2)
+                .expectNextMatches(e -> e.messageId().equals("m-2"))
+                .expectNextMatches(e -> e.messageId().equals("m-3"))
+                .thenCancel()
+                .verify();
+
+        assertEquals(1.0, meterRegistry.get("timeline.live.dropped").counter().count());
+    }
+
+    private static TimelineEntry entry(String messageId, String orderId) {
+        return new TimelineEntry(messageId, orderId, "PAYMENT", "PaymentCompleted", "SUCCEEDED", null, Instant.now());
+    }
+}
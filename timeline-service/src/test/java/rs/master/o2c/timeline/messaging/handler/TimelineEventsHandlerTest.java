@@ -0,0 +1,86 @@
+package rs.master.o2c.timeline.messaging.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import rs.master.o2c.events.EventEnvelope;
+import rs.master.o2c.events.EventTypes;
+import rs.master.o2c.events.ProducerNames;
+import rs.master.o2c.events.payment.PaymentFailed;
+import rs.master.o2c.events.payment.PaymentRequested;
+import rs.master.o2c.events.payment.PaymentStatus;
+import rs.master.o2c.timeline.messaging.mapper.TimelineEntryMapper;
+import rs.master.o2c.timeline.persistence.entity.TimelineEntry;
+import rs.master.o2c.timeline.persistence.repository.TimelineEntryRepository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("unchecked")
+class TimelineEventsHandlerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final TimelineEntryRepository repository = mock(TimelineEntryRepository.class);
+    private final TimelineEventsHandler handler = new TimelineEventsHandler(new TimelineEntryMapper(objectMapper), repository);
+
+    @Test
+    void handleBatch_shouldInsertOneEntryPerLifecycleEvent_inOneStatement() throws Exception {
+        String orderId = UUID.randomUUID().toString();
+        Instant requestedAt = Instant.parse("2026-01-01T10:00:00Z");
+        Instant failedAt = Instant.parse("2026-01-01T10:00:05Z");
+
+        when(repository.insertIgnore(anyList())).thenReturn(Mono.just(2));
+
+        byte[] requested = envelope(EventTypes.PAYMENT_REQUESTED, requestedAt, orderId,
+                new PaymentRequested("c-1", orderId, "cust-1", new BigDecimal("10.00"), "USD"));
+        byte[] failed = envelope(EventTypes.PAYMENT_FAILED, failedAt, orderId,
+                new PaymentFailed("p-1", "c-1", orderId, "DECLINED"));
+
+        StepVerifier.create(handler.handleBatch(List.of(requested, failed))).verifyComplete();
+
+        ArgumentCaptor<List<TimelineEntry>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(1)).insertIgnore(captor.capture());
+
+        List<TimelineEntry> entries = captor.getValue();
+        assertThat(entries).hasSize(2);
+        assertThat(entries.get(0).source()).isEqualTo(TimelineEntryMapper.SOURCE_PAYMENT);
+        assertThat(entries.get(0).status()).isEqualTo(PaymentStatus.PENDING);
+        assertThat(entries.get(0).occurredAt()).isEqualTo(requestedAt);
+        assertThat(entries.get(1).status()).isEqualTo(PaymentStatus.FAILED);
+        assertThat(entries.get(1).failureReason()).isEqualTo("DECLINED");
+        assertThat(entries).allSatisfy(e -> assertThat(e.orderId()).isEqualTo(orderId));
+    }
+
+    @Test
+    void handle_shouldSkipEventTypesOutsideTheLifecycle() throws Exception {
+        byte[] unknown = envelope("SomethingElse", Instant.now(), UUID.randomUUID().toString(),
+                new PaymentFailed("p-1", "c-1", UUID.randomUUID().toString(), "x"));
+
+        StepVerifier.create(handler.handle(unknown)).verifyComplete();
+
+        verifyNoInteractions(repository);
+    }
+
+    private byte[] envelope(String eventType, Instant occurredAt, String orderId, Object payload) throws Exception {
+        return objectMapper.writeValueAsBytes(new EventEnvelope<>(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                null,
+                eventType,
+                1,
+                occurredAt,
+                ProducerNames.PAYMENT_SERVICE,
+                orderId,
+                payload
+        ));
+    }
+}